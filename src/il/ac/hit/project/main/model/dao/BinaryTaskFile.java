@@ -0,0 +1,337 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A read-only, memory-mapped view of a binary task file.
+ * <p>
+ * Layout (all numbers big-endian):
+ * <pre>
+ *   header:  int magic "TBIN" | int version | int count | int maxId | long indexOffset
+ *   records: int id | byte state | int len | title UTF-8 | int len | description UTF-8   (ordered by id)
+ *   index:   count x (int id | long recordOffset)
+ * </pre>
+ * A string length of {@code -1} encodes {@code null}. Opening a file only reads the header
+ * and the index; a task is decoded from the mapped buffer the first time it is accessed,
+ * so startup time does not depend on the size of titles and descriptions.
+ * <p>
+ * Files are never modified in place: {@link #rewrite(SortedMap, Set, boolean, int)} writes a new
+ * file (copying the raw bytes of unchanged tasks) to a temp file and renames it over the old one.
+ * Some platforms (Windows) refuse to replace a file that is still mapped, so a file that is going
+ * to be rewritten should be loaded with {@link #read(Path)}, which copies it to the heap instead.
+ */
+public final class BinaryTaskFile {
+    private static final int MAGIC = 0x5442494E; // "TBIN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final TaskState[] STATES = TaskState.values();
+
+    private final Path path;
+    private final ByteBuffer buf; // null for an empty (not yet written) file
+    private final int maxId;
+    private final int[] ids;
+    private final long[] offsets;
+    private final AtomicReferenceArray<ITask> decoded;
+
+    private BinaryTaskFile(Path path, ByteBuffer buf, int maxId, int[] ids, long[] offsets) {
+        this.path = path;
+        this.buf = buf;
+        this.maxId = maxId;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.decoded = new AtomicReferenceArray<>(ids.length);
+    }
+
+    /**
+     * Maps a binary task file. A missing file is treated as an empty one.
+     *
+     * @param path the file
+     * @return the mapped file
+     * @throws TasksDAOException if the file cannot be read or is not a valid task file
+     */
+    public static BinaryTaskFile open(Path path) throws TasksDAOException {
+        return load(path, true);
+    }
+
+    /**
+     * Reads a binary task file into memory without mapping it, so the file can be replaced
+     * while this instance is in use. A missing file is treated as an empty one.
+     *
+     * @param path the file
+     * @return the file, held on the heap
+     * @throws TasksDAOException if the file cannot be read or is not a valid task file
+     */
+    public static BinaryTaskFile read(Path path) throws TasksDAOException {
+        return load(path, false);
+    }
+
+    private static BinaryTaskFile load(Path path, boolean map) throws TasksDAOException {
+        if (!Files.exists(path)) return new BinaryTaskFile(path, null, 0, new int[0], new long[0]);
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new TasksDAOException("task file too large: " + path);
+            ByteBuffer buf;
+            if (map) {
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid after close
+            } else {
+                buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining()) {
+                    if (ch.read(buf) < 0) throw new TasksDAOException("task file truncated while reading: " + path);
+                }
+                buf.clear();
+            }
+            if (size < HEADER_SIZE || buf.getInt(0) != MAGIC) throw new TasksDAOException("not a task file: " + path);
+            int version = buf.getInt(4);
+            if (version != VERSION) throw new TasksDAOException("unsupported task file version " + version);
+            int count = buf.getInt(8);
+            int maxId = buf.getInt(12);
+            long indexOffset = buf.getLong(16);
+            if (count < 0 || indexOffset < HEADER_SIZE || indexOffset + 12L * count != size) {
+                throw new TasksDAOException("corrupt task file index: " + path);
+            }
+            int[] ids = new int[count];
+            long[] offsets = new long[count];
+            int p = (int) indexOffset;
+            for (int i = 0; i < count; i++, p += 12) {
+                ids[i] = buf.getInt(p);
+                offsets[i] = buf.getLong(p + 4);
+            }
+            return new BinaryTaskFile(path, buf, maxId, ids, offsets);
+        } catch (IOException e) {
+            throw new TasksDAOException("open task file", e);
+        }
+    }
+
+    /**
+     * Writes a new binary task file containing the given tasks.
+     *
+     * @param path  the file to (re)place
+     * @param tasks the tasks
+     * @return the newly written file, mapped
+     * @throws TasksDAOException if the file cannot be written
+     */
+    public static BinaryTaskFile create(Path path, ITask[] tasks) throws TasksDAOException {
+        TreeMap<Integer, ITask> puts = new TreeMap<>();
+        for (ITask t : tasks) puts.put(t.getId(), t);
+        return read(path).rewrite(puts, Set.of(), true, 0);
+    }
+
+    /**
+     * One-shot conversion of a legacy {@link FileTasksDAO} CSV file into the binary format.
+     * Task IDs are kept.
+     *
+     * @param csv    the CSV file
+     * @param target the binary file to create
+     * @return the newly written file, mapped
+     * @throws TasksDAOException if the CSV cannot be read or the binary file cannot be written
+     */
+    public static BinaryTaskFile convertCsv(File csv, Path target) throws TasksDAOException {
+        return create(target, new FileTasksDAO(csv).getTasks());
+    }
+
+    /**
+     * @return the number of tasks in the file
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the highest task ID ever written to the file (IDs of deleted tasks included)
+     */
+    public int maxId() {
+        return maxId;
+    }
+
+    /**
+     * Returns the task at a position in ID order, decoding it on first access.
+     *
+     * @param index position, {@code 0 <= index < size()}
+     * @return the task
+     */
+    public ITask get(int index) {
+        ITask t = decoded.get(index);
+        if (t == null) {
+            t = decode((int) offsets[index]);
+            if (!decoded.compareAndSet(index, null, t)) t = decoded.get(index);
+        }
+        return t;
+    }
+
+    /**
+     * Returns the ID of the task at a position in ID order, without decoding it.
+     *
+     * @param index position, {@code 0 <= index < size()}
+     * @return the task ID
+     */
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the position of a task in ID order.
+     *
+     * @param id the task ID
+     * @return its position, or a negative value if the file has no such task
+     */
+    public int indexOf(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    /**
+     * Returns the position of the first task with an ID greater than {@code lastId}.
+     *
+     * @param lastId the ID after which to start (exclusive)
+     * @return a position between {@code 0} and {@link #size()}
+     */
+    public int indexAfter(int lastId) {
+        int i = Arrays.binarySearch(ids, lastId);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    /**
+     * Writes a new version of this file with the given changes applied and maps it.
+     * Tasks that did not change are copied as raw bytes, without decoding them.
+     *
+     * @param puts     tasks to add or replace, keyed by ID
+     * @param deletes  IDs of existing tasks to remove (disjoint from {@code puts})
+     * @param clearAll whether to drop all existing tasks first
+     * @param minMaxId lower bound for the new file's {@link #maxId()}, e.g. the ID of a task
+     *                 that was added and deleted again since this file was written
+     * @return the new file, mapped (this instance still describes the old contents)
+     * @throws TasksDAOException if the file cannot be written or cannot replace the old one
+     */
+    public BinaryTaskFile rewrite(SortedMap<Integer, ITask> puts, Set<Integer> deletes, boolean clearAll,
+                                  int minMaxId) throws TasksDAOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int count = 0;
+        int newMax = Math.max(maxId, minMaxId);
+        long pos = HEADER_SIZE;
+        int capacity = (clearAll ? 0 : ids.length) + puts.size();
+        int[] newIds = new int[capacity];
+        long[] newOffsets = new long[capacity];
+        try (OutputStream fos = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            out.write(new byte[HEADER_SIZE]); // filled in below
+            Iterator<Map.Entry<Integer, ITask>> it = puts.entrySet().iterator();
+            Map.Entry<Integer, ITask> next = it.hasNext() ? it.next() : null;
+            int i = clearAll ? ids.length : 0;
+            while (i < ids.length || next != null) {
+                boolean takePut = next != null && (i >= ids.length || next.getKey() <= ids[i]);
+                int id;
+                long written;
+                if (takePut) {
+                    id = next.getKey();
+                    if (i < ids.length && ids[i] == id) i++; // replaced
+                    written = writeTask(out, next.getValue(), id);
+                    next = it.hasNext() ? it.next() : null;
+                } else {
+                    id = ids[i];
+                    int from = (int) offsets[i];
+                    int to = i + 1 < ids.length ? (int) offsets[i + 1] : (int) indexOffset();
+                    i++;
+                    if (deletes.contains(id)) continue;
+                    written = to - from;
+                    copyRaw(out, from, to);
+                }
+                newIds[count] = id;
+                newOffsets[count] = pos;
+                count++;
+                pos += written;
+                newMax = Math.max(newMax, id);
+            }
+            for (int k = 0; k < count; k++) {
+                out.writeInt(newIds[k]);
+                out.writeLong(newOffsets[k]);
+            }
+        } catch (IOException e) {
+            throw new TasksDAOException("write task file", e);
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putInt(count).putInt(newMax).putLong(pos);
+            header.flip();
+            while (header.hasRemaining()) ch.write(header, header.position());
+            ch.force(true);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new TasksDAOException("write task file", e);
+        }
+        return open(path);
+    }
+
+    /**
+     * @return offset of the index footer, i.e. the end of the last record
+     */
+    private long indexOffset() {
+        return buf == null ? HEADER_SIZE : buf.getLong(16);
+    }
+
+    private void copyRaw(DataOutputStream out, int from, int to) throws IOException {
+        byte[] raw = new byte[to - from];
+        buf.get(from, raw);
+        out.write(raw);
+    }
+
+    /**
+     * Writes one task record ({@code int id | byte state | int len | title | int len | description}).
+     *
+     * @return the number of bytes written
+     */
+    static long writeTask(DataOutputStream out, ITask t, int id) throws IOException {
+        byte[] title = t.getTitle() == null ? null : t.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] desc = t.getDescription() == null ? null : t.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(id);
+        out.writeByte(t.getState().ordinal());
+        writeBytes(out, title);
+        writeBytes(out, desc);
+        return 4 + 1 + 4 + (title == null ? 0 : title.length) + 4 + (desc == null ? 0 : desc.length);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] b) throws IOException {
+        if (b == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private ITask decode(int p) {
+        return decode(buf, p);
+    }
+
+    /**
+     * Decodes the task record written by {@link #writeTask(DataOutputStream, ITask, int)} at {@code p}.
+     */
+    static ITask decode(ByteBuffer buf, int p) {
+        int id = buf.getInt(p);
+        TaskState state = STATES[buf.get(p + 4)];
+        int titleLen = buf.getInt(p + 5);
+        String title = readString(buf, p + 9, titleLen);
+        int descPos = p + 9 + Math.max(titleLen, 0);
+        String desc = readString(buf, descPos + 4, buf.getInt(descPos));
+        return new Task(id, title, desc, state);
+    }
+
+    private static String readString(ByteBuffer buf, int p, int len) {
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        buf.get(p, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
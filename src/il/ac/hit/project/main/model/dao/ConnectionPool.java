@@ -0,0 +1,278 @@
+package il.ac.hit.project.main.model.dao;
+
+import java.sql.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small, bounded JDBC connection pool.
+ * <p>
+ * Opening an embedded Derby connection is far more expensive than the short
+ * queries the DAO runs on it, so {@link TasksDAODerby} keeps its connections
+ * here and reuses them. The pool:
+ * <ul>
+ *   <li>keeps between {@link PoolConfig#minSize()} and {@link PoolConfig#maxSize()} physical connections,</li>
+ *   <li>validates a connection on every borrow and silently replaces broken ones,</li>
+ *   <li>evicts connections idle longer than {@link PoolConfig#idleTimeoutMillis()} (never below the minimum),</li>
+ *   <li>fails a borrow with {@link SQLException} when no connection frees up within
+ *       {@link PoolConfig#borrowTimeoutMillis()},</li>
+ *   <li>keeps an LRU cache of prepared statements per connection
+ *       (see {@link PooledConnection#prepareCached(String)}),</li>
+ *   <li>exposes runtime {@link PoolStats} via {@link #stats()}.</li>
+ * </ul>
+ * Connections are returned by closing the {@link PooledConnection}; any open
+ * transaction is rolled back and auto-commit is restored before reuse.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final PoolConfig config;
+
+    /**
+     * One permit per connection that may be handed out; bounds the pool size.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently used first (head) and oldest last (tail).
+     */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    /**
+     * Background evictor, or {@code null} when idle eviction is disabled.
+     */
+    private final ScheduledExecutorService evictor;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool for the given JDBC URL and opens the minimum number of connections.
+     * If one of them cannot be opened, the ones already opened are closed again.
+     *
+     * @param url    JDBC URL passed to {@link DriverManager#getConnection(String)}
+     * @param config pool configuration
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    public ConnectionPool(String url, PoolConfig config) throws SQLException {
+        this.url = url;
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize(), true);
+
+        if (config.idleTimeoutMillis() > 0) {
+            long period = Math.max(1_000, config.idleTimeoutMillis() / 2);
+            evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "tasks-pool-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+            evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+
+        try {
+            for (int i = 0; i < config.minSize(); i++) {
+                idle.offerLast(create());
+            }
+        } catch (SQLException | RuntimeException e) {
+            close(); // don't leak the connections opened so far, nor the evictor
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured timeout if all are in use.
+     *
+     * @return a validated connection; close it to return it to the pool
+     * @throws SQLException if the pool is closed, exhausted, or a new connection cannot be opened
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.borrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Connection pool exhausted: no connection available within "
+                        + config.borrowTimeoutMillis() + " ms (maxSize=" + config.maxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) pc = create();
+            pc.lease();
+            active.incrementAndGet();
+            borrowCount.increment();
+            return pc;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Pops idle connections until a valid one is found, discarding broken ones.
+     *
+     * @return a valid idle connection, or {@code null} if none is left
+     */
+    private PooledConnection takeValidIdle() {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (isValid(pc)) return pc;
+            destroy(pc);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a pooled connection is still usable.
+     */
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.connection().isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Called by {@link PooledConnection#close()} to hand a connection back.
+     *
+     * @param pc the connection being returned
+     */
+    void release(PooledConnection pc) {
+        active.decrementAndGet();
+        try {
+            if (closed || !resetForReuse(pc)) {
+                destroy(pc);
+            } else {
+                pc.touch();
+                idle.offerFirst(pc);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Rolls back any unfinished transaction and restores auto-commit.
+     *
+     * @return {@code false} if the connection is broken and must be discarded
+     */
+    private boolean resetForReuse(PooledConnection pc) {
+        try {
+            Connection c = pc.connection();
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes connections that stayed idle longer than the idle timeout, keeping
+     * at least {@link PoolConfig#minSize()} open, then tops the pool back up to the minimum.
+     */
+    private void evictIdle() {
+        if (closed) return;
+        long now = System.currentTimeMillis();
+        while (open.get() > config.minSize()) {
+            PooledConnection oldest = idle.peekLast();
+            if (oldest == null || now - oldest.lastUsedMillis() < config.idleTimeoutMillis()) break;
+            if (idle.removeLastOccurrence(oldest)) destroy(oldest);
+        }
+        try {
+            while (!closed && open.get() < config.minSize()) {
+                idle.offerLast(create());
+            }
+        } catch (SQLException ignore) {
+            // the next borrow will retry opening a connection
+        }
+    }
+
+    /**
+     * Opens a new physical connection.
+     */
+    private PooledConnection create() throws SQLException {
+        PooledConnection pc = new PooledConnection(this, DriverManager.getConnection(url), config.statementCacheSize());
+        open.incrementAndGet();
+        return pc;
+    }
+
+    /**
+     * Closes a physical connection and forgets it.
+     */
+    private void destroy(PooledConnection pc) {
+        open.decrementAndGet();
+        pc.closePhysical();
+    }
+
+    /**
+     * Returns a snapshot of the pool's runtime statistics.
+     *
+     * @return current pool statistics
+     */
+    public PoolStats stats() {
+        return new PoolStats(
+                active.get(),
+                idle.size(),
+                open.get(),
+                borrowCount.sum(),
+                timeoutCount.sum(),
+                totalWaitNanos.sum(),
+                maxWaitNanos.get(),
+                statementHits.sum(),
+                statementMisses.sum()
+        );
+    }
+
+    /**
+     * Records the outcome of a prepared-statement cache lookup.
+     *
+     * @param hit {@code true} if the statement was served from cache
+     */
+    void recordStatementLookup(boolean hit) {
+        if (hit) statementHits.increment();
+        else statementMisses.increment();
+    }
+
+    /**
+     * @return the configuration this pool was created with
+     */
+    public PoolConfig config() {
+        return config;
+    }
+
+    /**
+     * Closes all idle connections and stops the evictor. Connections still
+     * borrowed are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictor != null) evictor.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) destroy(pc);
+    }
+}
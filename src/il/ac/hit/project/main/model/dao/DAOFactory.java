@@ -1,11 +1,15 @@
 package il.ac.hit.project.main.model.dao;
 
+import il.ac.hit.project.main.model.dao.cache.IEvictionPolicy;
+
 /**
  * DAOFactory is a singleton factory responsible for creating and providing
  * an {@link ITasksDAO} implementation.
  * <p>
  * It first attempts to initialize a Derby-based DAO ({@link TasksDAODerby}).
- * If that fails, it falls back to a file-based DAO ({@link FileTasksDAO}).
+ * If that fails, it falls back to a file-based DAO selected by the system property
+ * {@code tasks.dao.file}: the append-only {@link LogTasksDAO} by default, the memory-mapped
+ * {@link MappedTasksDAO} for {@code binary}, or the CSV-based {@link FileTasksDAO} for {@code csv}.
  * In both cases, the chosen DAO is wrapped in a {@link TasksDAOProxy} for
  * added flexibility (e.g., logging, transaction control, etc.).
  */
@@ -34,13 +38,18 @@ public final class DAOFactory {
         } catch (Exception e1) {
             try {
                 // Fallback to file-based DAO if Derby fails
-                chosen = new FileTasksDAO();
+                chosen = switch (System.getProperty("tasks.dao.file", "log").toLowerCase()) {
+                    case "csv" -> new FileTasksDAO();
+                    case "binary" -> new MappedTasksDAO();
+                    default -> new LogTasksDAO();
+                };
             } catch (Exception e2) {
                 throw new RuntimeException("Failed to init DAO", e2);
             }
         }
-        // Wrap the chosen DAO in a proxy (adds behavior like logging, caching, etc.)
-        this.dao = new TasksDAOProxy(chosen);
+        // Wrap the chosen DAO in a proxy (adds behavior like logging, caching, etc.);
+        // the cache bound comes from the tasks.cache.* system properties
+        this.dao = new TasksDAOProxy(chosen, IEvictionPolicy.fromSystemProperties());
     }
 
     /**
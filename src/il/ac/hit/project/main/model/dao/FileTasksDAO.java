@@ -4,7 +4,11 @@ import il.ac.hit.project.main.model.task.*;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -14,11 +18,39 @@ import java.util.concurrent.atomic.AtomicInteger;
  * this DAO stores tasks in a CSV file located under the user's home directory.
  * It maintains a simple in-memory map of tasks and synchronizes with the file on every change.
  * This ensures tasks are preserved across program restarts even without a database.
+ * The file is replaced atomically: it is written to a temp file that is then renamed over it.
+ * <p>
+ * With a {@link WriteBehindConfig} that enables write-behind, changes only update memory on the
+ * caller's thread (e.g. the Swing EDT) and are queued; a background writer coalesces a burst of
+ * changes into one file write after {@code flushDelayMillis}, or as soon as {@code maxBatch}
+ * changes are pending. {@link #flush()} and {@link #close()} are durability barriers and report a
+ * failed background write; a shutdown hook, registered with the first queued change, flushes
+ * whatever is still pending when the JVM exits.
+ * <p>
+ * The DAO is safe for many concurrent readers and writers. Tasks are kept in a
+ * {@link ConcurrentSkipListMap}, so reads never take a lock and never wait for a file write;
+ * changes are serialized by a single writer lock (the DAO's monitor), which the file writer also
+ * holds while it takes its snapshot. Stored tasks are private copies, so callers that keep
+ * modifying their own {@link Task} objects do not affect readers. A read running concurrently
+ * with a batch change may see only part of that batch.
  */
-public class FileTasksDAO implements ITasksDAO {
+public class FileTasksDAO implements ITasksDAO, AutoCloseable {
     private final File file;
-    private final Map<Integer, ITask> store = new LinkedHashMap<>();
+    private final ConcurrentSkipListMap<Integer, ITask> store = new ConcurrentSkipListMap<>(); // written under this
     private final AtomicInteger seq = new AtomicInteger(0);
+    private final WriteBehindConfig config;
+
+    /**
+     * Background writer, or {@code null} when every change is written synchronously.
+     */
+    private final ScheduledExecutorService writer;
+
+    // Guarded by this.
+    private int pending;
+    private Thread shutdownHook; // registered with the first queued change
+    private ScheduledFuture<?> scheduledWrite;
+    private boolean scheduledNow;
+    private TasksDAOException writeError; // first background write failure not yet reported by flush()
 
     /**
      * Constructs a new {@code FileTasksDAO}, initializing the storage file
@@ -27,9 +59,41 @@ public class FileTasksDAO implements ITasksDAO {
      * @throws TasksDAOException if the file cannot be loaded.
      */
     public FileTasksDAO() throws TasksDAOException {
-        String home = System.getProperty("user.home", ".");
-        this.file = new File(home, "tasks_data.csv");
+        this(new File(System.getProperty("user.home", "."), "tasks_data.csv"), WriteBehindConfig.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a new {@code FileTasksDAO} backed by the given CSV file
+     * and loads existing tasks from it.
+     *
+     * @param file the CSV file (created on the first change if missing).
+     * @throws TasksDAOException if the file cannot be loaded.
+     */
+    public FileTasksDAO(File file) throws TasksDAOException {
+        this(file, WriteBehindConfig.synchronous());
+    }
+
+    /**
+     * Constructs a new {@code FileTasksDAO} backed by the given CSV file, writing
+     * changes as described by {@code config}, and loads existing tasks from it.
+     *
+     * @param file   the CSV file (created on the first change if missing).
+     * @param config synchronous or write-behind mode and fsync policy.
+     * @throws TasksDAOException if the file cannot be loaded.
+     */
+    public FileTasksDAO(File file, WriteBehindConfig config) throws TasksDAOException {
+        this.file = file;
+        this.config = config;
         load();
+        if (config.enabled() && config.fsync() != FsyncPolicy.PER_WRITE) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "tasks-file-writer");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            writer = null;
+        }
     }
 
     /**
@@ -52,7 +116,7 @@ public class FileTasksDAO implements ITasksDAO {
      *
      * @throws TasksDAOException if the file cannot be read or parsed.
      */
-    private void load() throws TasksDAOException {
+    private synchronized void load() throws TasksDAOException {
         store.clear();
         seq.set(0);
         if (!file.exists()) return;
@@ -75,21 +139,143 @@ public class FileTasksDAO implements ITasksDAO {
     }
 
     /**
-     * Saves all in-memory tasks back into the CSV file.
+     * Persists a change of {@code count} tasks: writes the file right away in synchronous mode,
+     * otherwise queues the change for the background writer. Caller holds {@code this}.
+     *
+     * @param count number of changed tasks.
+     * @throws TasksDAOException if the file cannot be written (synchronous mode only).
+     */
+    private void save(int count) throws TasksDAOException {
+        if (writer == null) {
+            write(store.values().toArray(new ITask[0]), config.fsync() != FsyncPolicy.NONE);
+            return;
+        }
+        if (shutdownHook == null) {
+            shutdownHook = new Thread(() -> {
+                try {
+                    flush();
+                } catch (TasksDAOException e) {
+                    // no caller left to report to: fail the hook thread, so the JVM reports it
+                    throw new IllegalStateException("could not save tasks on exit", e);
+                }
+            }, "tasks-file-flush-on-exit");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        pending += count;
+        if (pending >= config.maxBatch()) {
+            if (!scheduledNow) {
+                if (scheduledWrite != null) scheduledWrite.cancel(false);
+                scheduledWrite = writer.schedule(this::writeBehind, 0, TimeUnit.MILLISECONDS);
+                scheduledNow = true;
+            }
+        } else if (scheduledWrite == null) {
+            scheduledWrite = writer.schedule(this::writeBehind, config.flushDelayMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs on the background writer: takes a snapshot of the store and writes it.
+     * On failure the changes stay pending, the write is retried after the flush delay,
+     * and the failure is kept for the next {@link #flush()} to report.
+     */
+    private void writeBehind() {
+        ITask[] snapshot;
+        synchronized (this) {
+            scheduledWrite = null;
+            scheduledNow = false;
+            if (pending == 0) return;
+            snapshot = store.values().toArray(new ITask[0]);
+            pending = 0;
+        }
+        try {
+            write(snapshot, config.fsync() == FsyncPolicy.PER_BATCH);
+        } catch (TasksDAOException e) {
+            synchronized (this) {
+                if (writeError == null) writeError = e;
+                pending++;
+                if (scheduledWrite == null && !writer.isShutdown()) {
+                    scheduledWrite = writer.schedule(this::writeBehind, config.flushDelayMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all pending changes to the file and waits until they are written.
+     * Does nothing in synchronous mode, where every change is already written.
+     *
+     * @throws TasksDAOException if the pending changes cannot be written, or if a background
+     *                           write failed since the last flush (even if a retry succeeded later);
+     *                           each failure is reported once.
+     */
+    public void flush() throws TasksDAOException {
+        if (writer == null || writer.isShutdown()) return;
+        try {
+            writer.submit(this::writeBehind).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TasksDAOException("flush interrupted", e);
+        } catch (ExecutionException | RejectedExecutionException e) {
+            throw new TasksDAOException("flush file", e);
+        }
+        synchronized (this) {
+            TasksDAOException e = writeError;
+            writeError = null;
+            if (e != null) throw new TasksDAOException("flush file", e);
+        }
+    }
+
+    /**
+     * Flushes pending changes and stops the background writer.
+     * The DAO must not be changed afterwards.
+     *
+     * @throws TasksDAOException if the pending changes cannot be written.
+     */
+    public void close() throws TasksDAOException {
+        if (writer == null) return;
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+            Thread hook;
+            synchronized (this) {
+                hook = shutdownHook;
+            }
+            try {
+                if (hook != null) Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException ignored) {
+                // the JVM is already shutting down and the hook is running
+            }
+        }
+    }
+
+    /**
+     * Writes the given tasks to the CSV file, replacing it atomically.
      * <p>
      * Titles and descriptions are escaped to avoid breaking CSV format.
      *
+     * @param tasks the tasks to write.
+     * @param fsync whether to force the data to the disk before the file is replaced.
      * @throws TasksDAOException if the file cannot be written.
      */
-    private void save() throws TasksDAOException {
-        try (PrintWriter pw = new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
-            for (ITask t : store.values()) {
-                String desc = t.getDescription() == null ? "" : t.getDescription()
-                        .replace("\n", "\\n").replace(",", ";");
-                String title = t.getTitle() == null ? "" : t.getTitle().replace(",", ";");
-                pw.println(t.getId() + "," + title + "," + desc + "," + t.getState().display());
+    private void write(ITask[] tasks, boolean fsync) throws TasksDAOException {
+        Path target = file.toPath();
+        Path tmp = target.resolveSibling(file.getName() + ".tmp");
+        try {
+            try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+                 PrintWriter pw = new PrintWriter(new BufferedWriter(
+                         new OutputStreamWriter(fos, StandardCharsets.UTF_8)))) {
+                for (ITask t : tasks) {
+                    String desc = t.getDescription() == null ? "" : t.getDescription()
+                            .replace("\n", "\\n").replace(",", ";");
+                    String title = t.getTitle() == null ? "" : t.getTitle().replace(",", ";");
+                    pw.println(t.getId() + "," + title + "," + desc + "," + t.getState().display());
+                }
+                pw.flush();
+                if (pw.checkError()) throw new IOException("write failed: " + tmp);
+                if (fsync) fos.getFD().sync();
             }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (Exception e) {
             throw new TasksDAOException("save file", e);
         }
@@ -114,29 +300,44 @@ public class FileTasksDAO implements ITasksDAO {
         return store.get(id);
     }
 
+    /**
+     * Returns up to {@code limit} tasks with an ID greater than {@code lastId}, ordered by ID.
+     *
+     * @param lastId the ID after which the page starts (exclusive).
+     * @param limit  maximum number of tasks in the page.
+     * @return the page (never {@code null}).
+     */
+    public ITask[] getTasksAfter(int lastId, int limit) {
+        return store.tailMap(lastId, false).values().stream()
+                .limit(Math.max(limit, 0))
+                .toArray(ITask[]::new);
+    }
+
     /**
      * Adds a new task to the store and persists it to file.
      * <p>
-     * The task receives a unique auto-incremented ID.
+     * The task receives a unique auto-incremented ID; a {@link Task} instance
+     * is updated in place with its new ID.
      *
      * @param task task to add.
      * @throws TasksDAOException if saving fails.
      */
-    public void addTask(ITask task) throws TasksDAOException {
+    public synchronized void addTask(ITask task) throws TasksDAOException {
         int id = seq.incrementAndGet();
         store.put(id, new Task(id, task.getTitle(), task.getDescription(), task.getState()));
-        save();
+        if (task instanceof Task t) t.setId(id);
+        save(1);
     }
 
     /**
      * Updates an existing task in the store and persists the change.
+     * A task whose ID is not stored is ignored.
      *
      * @param task task with updated values.
      * @throws TasksDAOException if saving fails.
      */
-    public void updateTask(ITask task) throws TasksDAOException {
-        store.put(task.getId(), task);
-        save();
+    public synchronized void updateTask(ITask task) throws TasksDAOException {
+        if (store.replace(task.getId(), copyOf(task)) != null) save(1);
     }
 
     /**
@@ -144,9 +345,10 @@ public class FileTasksDAO implements ITasksDAO {
      *
      * @throws TasksDAOException if saving fails.
      */
-    public void deleteTasks() throws TasksDAOException {
+    public synchronized void deleteTasks() throws TasksDAOException {
+        int count = Math.max(1, store.size());
         store.clear();
-        save();
+        save(count);
     }
 
     /**
@@ -155,8 +357,63 @@ public class FileTasksDAO implements ITasksDAO {
      * @param id task identifier.
      * @throws TasksDAOException if saving fails.
      */
-    public void deleteTask(int id) throws TasksDAOException {
+    public synchronized void deleteTask(int id) throws TasksDAOException {
         store.remove(id);
-        save();
+        save(1);
+    }
+
+    /**
+     * Adds all given tasks and persists them with a single file write.
+     * <p>
+     * Each task receives a unique auto-incremented ID; {@link Task} instances
+     * are updated in place with their new ID.
+     *
+     * @param tasks tasks to add.
+     * @throws TasksDAOException if saving fails.
+     */
+    public synchronized void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        for (ITask task : tasks) {
+            int id = seq.incrementAndGet();
+            store.put(id, new Task(id, task.getTitle(), task.getDescription(), task.getState()));
+            if (task instanceof Task t) t.setId(id);
+        }
+        save(tasks.size());
+    }
+
+    /**
+     * Updates all given tasks and persists them with a single file write.
+     * Tasks whose ID is not stored are ignored.
+     *
+     * @param tasks tasks with updated values.
+     * @throws TasksDAOException if saving fails.
+     */
+    public synchronized void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        int updated = 0;
+        for (ITask task : tasks) {
+            if (store.replace(task.getId(), copyOf(task)) != null) updated++;
+        }
+        if (updated > 0) save(updated);
+    }
+
+    /**
+     * Deletes the tasks with the given IDs and persists the change with a single file write.
+     *
+     * @param ids task identifiers.
+     * @throws TasksDAOException if saving fails.
+     */
+    public synchronized void deleteTasks(int[] ids) throws TasksDAOException {
+        for (int id : ids) store.remove(id);
+        save(ids.length);
+    }
+
+    /**
+     * Returns a private copy of a task, so later changes to the caller's object
+     * are not seen by concurrent readers.
+     *
+     * @param task the task to copy.
+     * @return a new {@link Task} with the same values.
+     */
+    private static ITask copyOf(ITask task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), task.getState());
     }
 }
@@ -0,0 +1,23 @@
+package il.ac.hit.project.main.model.dao;
+
+/**
+ * When {@link FileTasksDAO} forces written data to the storage device.
+ * <p>
+ * {@link LogTasksDAO} uses it too: there every call appends once, so any policy other
+ * than {@link #NONE} forces each append.
+ */
+public enum FsyncPolicy {
+    /**
+     * Never fsync; the operating system decides when data reaches the disk.
+     * Fastest, but a power loss can lose recent changes.
+     */
+    NONE,
+    /**
+     * Fsync once per file write. In write-behind mode one write covers a whole burst of changes.
+     */
+    PER_BATCH,
+    /**
+     * Write and fsync every change before the call returns, bypassing write-behind coalescing.
+     */
+    PER_WRITE
+}
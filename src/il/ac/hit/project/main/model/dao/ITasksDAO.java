@@ -2,6 +2,10 @@ package il.ac.hit.project.main.model.dao;
 
 import il.ac.hit.project.main.model.task.ITask;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Stream;
+
 /**
  * Data-access contract for working with tasks in a persistence layer.
  * <p>
@@ -32,6 +36,77 @@ public interface ITasksDAO {
      */
     ITask getTask(int id) throws TasksDAOException;
 
+    /**
+     * Retrieves one page of tasks using keyset pagination: up to {@code limit}
+     * tasks whose ID is greater than {@code lastId}, ordered by ID.
+     * <p>
+     * Pass {@code 0} for the first page and the ID of the last task of the
+     * previous page afterwards. A page shorter than {@code limit} is the last one.
+     *
+     * @param lastId the ID after which the page starts (exclusive).
+     * @param limit  the maximum number of tasks to return.
+     * @return the tasks of the page (never {@code null}, may be empty).
+     * @throws TasksDAOException if the retrieval fails.
+     */
+    ITask[] getTasksAfter(int lastId, int limit) throws TasksDAOException;
+
+    /**
+     * Retrieves the tasks matching a {@link TaskQuery}, ordered and paged as requested.
+     * <p>
+     * The default implementation evaluates the query in memory over {@link #getTasks()};
+     * database-backed implementations push filtering, ordering and paging down into SQL.
+     *
+     * @param q the query.
+     * @return the matching tasks (never {@code null}, may be empty).
+     * @throws TasksDAOException if the retrieval fails.
+     */
+    default ITask[] query(TaskQuery q) throws TasksDAOException {
+        Stream<ITask> s = Arrays.stream(getTasks())
+                .filter(q.toPredicate())
+                .sorted(q.toComparator())
+                .skip(q.offset());
+        if (q.limit() > 0) s = s.limit(q.limit());
+        return s.toArray(ITask[]::new);
+    }
+
+    /**
+     * Counts the tasks matching a {@link TaskQuery}, ignoring its ordering and paging.
+     *
+     * @param q the query.
+     * @return the number of matching tasks.
+     * @throws TasksDAOException if the retrieval fails.
+     */
+    default int count(TaskQuery q) throws TasksDAOException {
+        return (int) Arrays.stream(getTasks()).filter(q.toPredicate()).count();
+    }
+
+    /**
+     * Full-text search over titles and descriptions.
+     * <p>
+     * The query is split into terms as described in {@link TaskTokens}; a task matches when
+     * every term is the prefix of a word in its title or description (case-insensitive).
+     * The default implementation evaluates the search in memory over {@link #getTasks()};
+     * database-backed implementations answer it from a token index.
+     *
+     * @param query the search text; a blank query matches every task.
+     * @return the matching tasks ordered by ID (never {@code null}, may be empty).
+     * @throws TasksDAOException if the retrieval fails.
+     */
+    default ITask[] search(String query) throws TasksDAOException {
+        return Arrays.stream(getTasks()).filter(TaskTokens.matcher(query)).toArray(ITask[]::new);
+    }
+
+    /**
+     * Opens a forward-only cursor that streams all tasks in ID order,
+     * fetching {@code fetchSize} tasks per page.
+     *
+     * @param fetchSize number of tasks fetched per round trip.
+     * @return a new cursor positioned before the first task.
+     */
+    default TaskCursor openCursor(int fetchSize) {
+        return new TaskCursor(this, fetchSize);
+    }
+
     /**
      * Adds a new task to the data source.
      *
@@ -42,6 +117,7 @@ public interface ITasksDAO {
 
     /**
      * Updates an existing task in the data source.
+     * If no task with its ID is stored, nothing is changed (the task is not added).
      *
      * @param task the task with updated values.
      * @throws TasksDAOException if the operation fails.
@@ -62,4 +138,31 @@ public interface ITasksDAO {
      * @throws TasksDAOException if the operation fails.
      */
     void deleteTask(int id) throws TasksDAOException;
+
+    /**
+     * Adds many tasks in a single operation (one transaction / one write).
+     * <p>
+     * Each task receives its generated ID, just like with {@link #addTask(ITask)}.
+     *
+     * @param tasks the tasks to add.
+     * @throws TasksDAOException if the operation fails (no task is added in that case).
+     */
+    void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException;
+
+    /**
+     * Updates many existing tasks in a single operation.
+     * Tasks whose ID is not stored are ignored (they are not added).
+     *
+     * @param tasks the tasks with updated values.
+     * @throws TasksDAOException if the operation fails (no task is updated in that case).
+     */
+    void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException;
+
+    /**
+     * Deletes the tasks with the given IDs in a single operation.
+     *
+     * @param ids identifiers of the tasks to delete.
+     * @throws TasksDAOException if the operation fails (no task is deleted in that case).
+     */
+    void deleteTasks(int[] ids) throws TasksDAOException;
 }
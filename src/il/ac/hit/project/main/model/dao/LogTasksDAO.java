@@ -0,0 +1,596 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A log-structured, file-based implementation of {@link ITasksDAO}.
+ * <p>
+ * Unlike {@link FileTasksDAO}, which rewrites the whole CSV file on every change,
+ * this DAO appends one small record per mutation to {@code tasks_data.log}, so a change
+ * costs I/O proportional to the changed task only. On startup the log is replayed into
+ * an in-memory map.
+ * <p>
+ * File layout: a header ({@code "TLOG"} and a format version) followed by records
+ * <pre>
+ *   int length | payload | int CRC32(payload)
+ *   payload = byte op | int id [| byte state | int len | title UTF-8 | int len | description UTF-8]
+ * </pre>
+ * where {@code op} is {@code P} (put), {@code D} (delete) or {@code C} (delete all), and a
+ * length of {@code -1} encodes a {@code null} string. A record cut short by a crash, or one
+ * with a bad checksum, ends the replay and is truncated away.
+ * <p>
+ * Records made obsolete by later ones are <em>dead</em>. Once they outnumber the live tasks
+ * (and there are at least {@value #MIN_DEAD_FOR_COMPACTION} of them) the log is compacted on a
+ * background thread: the live tasks are written to a temp file, the records appended in the
+ * meantime are copied after them, and the temp file atomically replaces the log. If that fails
+ * the old log stays in use, the next attempt waits until twice as many records have been
+ * appended as before, and the failure is reported by {@link #close()}.
+ * <p>
+ * Durability follows an {@link FsyncPolicy}: with {@link FsyncPolicy#NONE} (the default) appended
+ * records are left to the operating system, so a crash of the machine can lose changes that were
+ * already acknowledged; with any other policy every append is forced to the disk before the
+ * call returns (each call is one append, so {@code PER_BATCH} and {@code PER_WRITE} coincide).
+ * <p>
+ * If there is no log yet but a legacy {@code tasks_data.csv} exists, its tasks are imported.
+ */
+public class LogTasksDAO implements ITasksDAO, AutoCloseable {
+    private static final int MAGIC = 0x544C4F47; // "TLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte OP_PUT = 'P';
+    private static final byte OP_DELETE = 'D';
+    private static final byte OP_CLEAR = 'C';
+    private static final TaskState[] STATES = TaskState.values();
+
+    /**
+     * Minimum number of dead records before a compaction is considered.
+     */
+    public static final int MIN_DEAD_FOR_COMPACTION = 1024;
+
+    private final Path path;
+    private final FsyncPolicy fsync;
+    private final ConcurrentSkipListMap<Integer, ITask> store = new ConcurrentSkipListMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "tasks-log-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Guarded by this.
+    private FileChannel channel;
+    private int seq;
+    private long records; // records in the log; those beyond store.size() are dead
+    private boolean compacting;
+    private long retryCompactionAt;             // records needed before retrying a failed compaction
+    private long compactionBackoff = MIN_DEAD_FOR_COMPACTION;
+    private TasksDAOException compactionFailure; // last background failure, reported by close()
+
+    /**
+     * Opens (or creates) {@code tasks_data.log} under the user's home directory,
+     * importing {@code tasks_data.csv} from there on the first run. The fsync policy is read
+     * from the {@code tasks.file.fsync} system property, as for {@link FileTasksDAO}.
+     *
+     * @throws TasksDAOException if the log cannot be opened or replayed.
+     */
+    public LogTasksDAO() throws TasksDAOException {
+        this(new File(System.getProperty("user.home", "."), "tasks_data.log"),
+                new File(System.getProperty("user.home", "."), "tasks_data.csv"),
+                WriteBehindConfig.fromSystemProperties().fsync());
+    }
+
+    /**
+     * Opens (or creates) the given log file.
+     *
+     * @param logFile   the log file.
+     * @param legacyCsv a {@link FileTasksDAO} CSV file imported when the log does not exist yet,
+     *                  or {@code null} for none.
+     * @throws TasksDAOException if the log cannot be opened or replayed.
+     */
+    public LogTasksDAO(File logFile, File legacyCsv) throws TasksDAOException {
+        this(logFile, legacyCsv, FsyncPolicy.NONE);
+    }
+
+    /**
+     * Opens (or creates) the given log file with the given durability.
+     *
+     * @param logFile   the log file.
+     * @param legacyCsv a {@link FileTasksDAO} CSV file imported when the log does not exist yet,
+     *                  or {@code null} for none.
+     * @param fsync     whether appends are forced to the disk before returning.
+     * @throws TasksDAOException if the log cannot be opened or replayed.
+     */
+    public LogTasksDAO(File logFile, File legacyCsv, FsyncPolicy fsync) throws TasksDAOException {
+        this.path = logFile.toPath();
+        this.fsync = fsync;
+        try {
+            boolean fresh = !Files.exists(path) || Files.size(path) < HEADER_SIZE;
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (fresh) {
+                channel.truncate(0); // also discards a header torn by a crash on the first run
+                writeHeader(channel);
+                if (legacyCsv != null && legacyCsv.exists()) importTasks(new FileTasksDAO(legacyCsv).getTasks());
+            } else {
+                replay();
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            closeQuietly();
+            throw new TasksDAOException("open log", e);
+        } catch (TasksDAOException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the legacy tasks, keeping their IDs, as the first records of a new log.
+     */
+    private void importTasks(ITask[] tasks) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        for (ITask t : tasks) {
+            ITask copy = copyOf(t.getId(), t);
+            store.put(copy.getId(), copy);
+            seq = Math.max(seq, copy.getId());
+            encodePut(buf, copy);
+        }
+        writeFully(channel, ByteBuffer.wrap(buf.toByteArray()));
+        channel.force(false);
+        records = tasks.length;
+    }
+
+    /**
+     * Replays the log into {@link #store}. Stops at the first incomplete or corrupt
+     * record and truncates the file there.
+     */
+    private void replay() throws IOException, TasksDAOException {
+        long good = HEADER_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new TasksDAOException("not a task log: " + path);
+            int version = in.readInt();
+            if (version != VERSION) throw new TasksDAOException("unsupported task log version " + version);
+            CRC32 crc = new CRC32();
+            while (true) {
+                int len;
+                try {
+                    len = in.readInt();
+                } catch (EOFException end) {
+                    break; // clean end of log
+                }
+                if (len <= 0 || len > channel.size() - good - 4) break; // torn or garbage length
+                byte[] payload = new byte[len];
+                int checksum;
+                try {
+                    in.readFully(payload);
+                    checksum = in.readInt();
+                } catch (EOFException torn) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break;
+                apply(payload);
+                good += 8 + len;
+            }
+        }
+        if (good < channel.size()) channel.truncate(good); // drop the torn tail
+    }
+
+    /**
+     * Applies one replayed record to the in-memory store.
+     */
+    private void apply(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        switch (op) {
+            case OP_PUT -> {
+                int id = in.readInt();
+                TaskState state = STATES[in.readByte()];
+                String title = readString(in);
+                String desc = readString(in);
+                store.put(id, new Task(id, title, desc, state));
+                seq = Math.max(seq, id);
+            }
+            case OP_DELETE -> {
+                int id = in.readInt();
+                store.remove(id);
+                seq = Math.max(seq, id);
+            }
+            case OP_CLEAR -> {
+                in.readInt();
+                store.clear();
+            }
+            default -> throw new IOException("unknown log record " + op);
+        }
+        records++;
+    }
+
+    /**
+     * Returns all tasks, ordered by ID.
+     *
+     * @return array of tasks (never {@code null}).
+     */
+    public ITask[] getTasks() {
+        return store.values().toArray(new ITask[0]);
+    }
+
+    /**
+     * Returns a single task by its ID.
+     *
+     * @param id task identifier.
+     * @return the matching task, or {@code null} if not found.
+     */
+    public ITask getTask(int id) {
+        return store.get(id);
+    }
+
+    /**
+     * Returns up to {@code limit} tasks with an ID greater than {@code lastId}, ordered by ID.
+     *
+     * @param lastId the ID after which the page starts (exclusive).
+     * @param limit  maximum number of tasks in the page.
+     * @return the page (never {@code null}).
+     */
+    public ITask[] getTasksAfter(int lastId, int limit) {
+        return store.tailMap(lastId, false).values().stream()
+                .limit(Math.max(limit, 0))
+                .toArray(ITask[]::new);
+    }
+
+    /**
+     * Adds a new task by appending one record.
+     * A {@link Task} instance is updated in place with its new ID.
+     *
+     * @param task task to add.
+     * @throws TasksDAOException if the record cannot be written.
+     */
+    public void addTask(ITask task) throws TasksDAOException {
+        addTasks(List.of(task));
+    }
+
+    /**
+     * Updates an existing task by appending one record.
+     *
+     * @param task task with updated values.
+     * @throws TasksDAOException if the record cannot be written.
+     */
+    public void updateTask(ITask task) throws TasksDAOException {
+        updateTasks(List.of(task));
+    }
+
+    /**
+     * Deletes all tasks by appending one record; the whole log then becomes dead
+     * and is compacted in the background.
+     *
+     * @throws TasksDAOException if the record cannot be written.
+     */
+    public synchronized void deleteTasks() throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        encodeOp(buf, OP_CLEAR, 0);
+        append(buf, 1);
+        store.clear();
+        maybeCompact();
+    }
+
+    /**
+     * Deletes a single task by appending one record.
+     *
+     * @param id task identifier.
+     * @throws TasksDAOException if the record cannot be written.
+     */
+    public void deleteTask(int id) throws TasksDAOException {
+        deleteTasks(new int[]{id});
+    }
+
+    /**
+     * Adds all given tasks with a single append.
+     * {@link Task} instances are updated in place with their new IDs.
+     *
+     * @param tasks tasks to add.
+     * @throws TasksDAOException if the records cannot be written.
+     */
+    public synchronized void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        List<ITask> added = new ArrayList<>(tasks.size());
+        int next = seq;
+        for (ITask task : tasks) {
+            ITask copy = copyOf(++next, task);
+            encodePut(buf, copy);
+            added.add(copy);
+        }
+        append(buf, added.size());
+        seq = next;
+        Iterator<? extends ITask> it = tasks.iterator();
+        for (ITask copy : added) {
+            store.put(copy.getId(), copy);
+            if (it.next() instanceof Task t) t.setId(copy.getId());
+        }
+    }
+
+    /**
+     * Updates all given tasks with a single append. Tasks whose ID is not stored are ignored.
+     *
+     * @param tasks tasks with updated values.
+     * @throws TasksDAOException if the records cannot be written.
+     */
+    public synchronized void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        List<ITask> copies = new ArrayList<>(tasks.size());
+        for (ITask task : tasks) {
+            if (!store.containsKey(task.getId())) continue;
+            ITask copy = copyOf(task.getId(), task);
+            encodePut(buf, copy);
+            copies.add(copy);
+        }
+        if (copies.isEmpty()) return;
+        append(buf, copies.size());
+        for (ITask copy : copies) store.put(copy.getId(), copy);
+        maybeCompact();
+    }
+
+    /**
+     * Deletes the tasks with the given IDs with a single append.
+     *
+     * @param ids task identifiers.
+     * @throws TasksDAOException if the records cannot be written.
+     */
+    public synchronized void deleteTasks(int[] ids) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        for (int id : ids) encodeOp(buf, OP_DELETE, id);
+        append(buf, ids.length);
+        for (int id : ids) store.remove(id);
+        maybeCompact();
+    }
+
+    /**
+     * Waits for a running compaction and closes the log file.
+     *
+     * @throws TasksDAOException if the file cannot be closed, or if the last background
+     *                           compaction failed (the log itself is intact).
+     */
+    public void close() throws TasksDAOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new TasksDAOException("close log", e);
+            }
+            if (compactionFailure != null) throw compactionFailure;
+        }
+    }
+
+    /**
+     * Compacts the log now, on the calling thread.
+     *
+     * @throws TasksDAOException if the compacted log cannot be written.
+     */
+    public void compact() throws TasksDAOException {
+        synchronized (this) {
+            if (compacting) return;
+            compacting = true;
+        }
+        try {
+            doCompact();
+            compacted();
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * @return the number of records in the log that no longer contribute to the current state.
+     */
+    public synchronized long deadRecords() {
+        return records - store.size();
+    }
+
+    /**
+     * Schedules a background compaction once dead records outnumber live tasks. Caller holds {@code this}.
+     * <p>
+     * After a failed compaction the next one waits until the log has grown by the backoff,
+     * which doubles with every consecutive failure, so a persistent I/O error costs an
+     * exponentially shrinking number of attempts instead of one per write.
+     */
+    private void maybeCompact() {
+        long dead = records - store.size();
+        if (compacting || records < retryCompactionAt || dead < MIN_DEAD_FOR_COMPACTION || dead < store.size()) return;
+        compacting = true;
+        compactor.execute(() -> {
+            try {
+                doCompact();
+                compacted();
+            } catch (TasksDAOException e) {
+                synchronized (this) { // the old log is still intact; close() reports the failure
+                    compactionFailure = e;
+                    retryCompactionAt = records + compactionBackoff;
+                    compactionBackoff = Math.min(compactionBackoff * 2, 1L << 30);
+                }
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets earlier compaction failures after a successful compaction.
+     */
+    private synchronized void compacted() {
+        compactionFailure = null;
+        retryCompactionAt = 0;
+        compactionBackoff = MIN_DEAD_FOR_COMPACTION;
+    }
+
+    /**
+     * Writes the live tasks to a temp file without blocking writers, then, under the lock,
+     * copies the records appended meanwhile and renames the temp file over the log.
+     */
+    private void doCompact() throws TasksDAOException {
+        ITask[] live;
+        long copiedUpTo, recordsAtSnapshot;
+        synchronized (this) {
+            live = getTasks();
+            recordsAtSnapshot = records;
+            try {
+                copiedUpTo = channel.size();
+            } catch (IOException e) {
+                throw new TasksDAOException("compact log", e);
+            }
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(1 << 16);
+            for (ITask t : live) {
+                encodePut(buf, t);
+                if (buf.size() >= 1 << 16) {
+                    writeFully(out, ByteBuffer.wrap(buf.toByteArray()));
+                    buf.reset();
+                }
+            }
+            writeFully(out, ByteBuffer.wrap(buf.toByteArray()));
+
+            synchronized (this) {
+                long end = channel.size();
+                long pos = copiedUpTo; // copy the records appended while the live tasks were written
+                while (pos < end) pos += channel.transferTo(pos, end - pos, out);
+                out.force(true);
+                channel.close();
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+                records = live.length + (records - recordsAtSnapshot);
+            }
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+            }
+            reopenIfClosed();
+            throw new TasksDAOException("compact log", e);
+        }
+    }
+
+    /**
+     * Reopens the log for appending if a failed compaction left the channel closed.
+     */
+    private synchronized void reopenIfClosed() {
+        if (channel.isOpen()) return;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException ignored) {
+            // the next write reports the failure
+        }
+    }
+
+    /**
+     * Appends {@code count} encoded records to the log in one write, forcing it to the disk
+     * unless the fsync policy is {@link FsyncPolicy#NONE}. Caller holds {@code this}.
+     */
+    private void append(ByteArrayOutputStream buf, int count) throws TasksDAOException {
+        try {
+            writeFully(channel, ByteBuffer.wrap(buf.toByteArray()));
+            if (fsync != FsyncPolicy.NONE) channel.force(false);
+            records += count;
+        } catch (IOException e) {
+            throw new TasksDAOException("append log", e);
+        }
+    }
+
+    private static void writeHeader(FileChannel ch) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        writeFully(ch, header);
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    private static void encodePut(ByteArrayOutputStream out, ITask t) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream p = new DataOutputStream(payload)) {
+            p.writeByte(OP_PUT);
+            p.writeInt(t.getId());
+            p.writeByte(t.getState().ordinal());
+            writeString(p, t.getTitle());
+            writeString(p, t.getDescription());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for an in-memory stream
+        }
+        frame(out, payload.toByteArray());
+    }
+
+    private static void encodeOp(ByteArrayOutputStream out, byte op, int id) {
+        frame(out, ByteBuffer.allocate(5).put(op).putInt(id).array());
+    }
+
+    /**
+     * Writes {@code length | payload | crc} to {@code out}.
+     */
+    private static void frame(ByteArrayOutputStream out, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(payload.length).array());
+        out.writeBytes(payload);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies a task, so later changes to the caller's object do not alter the stored one.
+     */
+    private static ITask copyOf(int id, ITask t) {
+        return new Task(id, t.getTitle(), t.getDescription(), t.getState());
+    }
+
+    private void closeQuietly() {
+        compactor.shutdownNow();
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
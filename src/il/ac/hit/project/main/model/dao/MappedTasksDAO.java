@@ -0,0 +1,298 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * A file-based implementation of {@link ITasksDAO} over a {@link BinaryTaskFile}.
+ * <p>
+ * Opening the DAO maps {@code tasks_data.bin} and reads only its ID index, so startup
+ * is fast regardless of how much text the tasks hold; tasks are decoded on first access.
+ * Paged reads ({@link #getTasksAfter(int, int)}) decode only the requested page.
+ * <p>
+ * The mapped file is read-only while the DAO is open. Every change is appended (and forced)
+ * to a {@link TaskDeltaLog} next to it, {@code tasks_data.bin.delta}, and kept in memory as an
+ * overlay on the mapped tasks, so a change costs I/O proportional to the changed tasks only.
+ * When the DAO is opened with a non-empty log, the log is merged into a new version of the
+ * binary file, which atomically replaces the old one; only then is the old file read into memory. If the file cannot be replaced (for example because another
+ * instance still maps it), the log is kept and merged at a later open.
+ * On the first run an existing {@code tasks_data.csv} is converted once.
+ */
+public class MappedTasksDAO implements ITasksDAO, AutoCloseable {
+
+    // Both guarded by this.
+    private final Overlay overlay;
+    private final TaskDeltaLog delta;
+
+    /**
+     * The changes made since the binary file was written, on top of that file.
+     */
+    private static final class Overlay implements TaskDeltaLog.Sink {
+        BinaryTaskFile file;
+        final TreeMap<Integer, ITask> puts = new TreeMap<>(); // tasks added or updated since the file was written
+        final Set<Integer> deletes = new HashSet<>();         // IDs in the file deleted since
+        boolean cleared;                                      // all tasks in the file were deleted
+        int maxId;
+
+        Overlay(BinaryTaskFile file) {
+            this.file = file;
+            this.maxId = file.maxId();
+        }
+
+        @Override
+        public void put(ITask t) {
+            puts.put(t.getId(), t);
+            deletes.remove(t.getId());
+            maxId = Math.max(maxId, t.getId());
+        }
+
+        @Override
+        public void delete(int id) {
+            puts.remove(id);
+            if (!cleared && file.indexOf(id) >= 0) deletes.add(id);
+            maxId = Math.max(maxId, id);
+        }
+
+        @Override
+        public void clear() {
+            puts.clear();
+            deletes.clear();
+            cleared = true;
+        }
+
+        boolean exists(int id) {
+            return puts.containsKey(id) || (!cleared && !deletes.contains(id) && file.indexOf(id) >= 0);
+        }
+
+        /**
+         * Replaces the file with one that already contains all changes.
+         */
+        void merged(BinaryTaskFile f) {
+            file = f;
+            puts.clear();
+            deletes.clear();
+            cleared = false;
+        }
+    }
+
+    /**
+     * Opens {@code tasks_data.bin} under the user's home directory, converting
+     * {@code tasks_data.csv} from there if the binary file does not exist yet.
+     *
+     * @throws TasksDAOException if the file cannot be opened or converted.
+     */
+    public MappedTasksDAO() throws TasksDAOException {
+        this(new File(System.getProperty("user.home", "."), "tasks_data.bin").toPath(),
+                new File(System.getProperty("user.home", "."), "tasks_data.csv"));
+    }
+
+    /**
+     * Opens the given binary task file and merges its change log into it.
+     *
+     * @param path      the binary file (created on the first merge if missing).
+     * @param legacyCsv a {@link FileTasksDAO} CSV file converted when {@code path} does not exist,
+     *                  or {@code null} for none.
+     * @throws TasksDAOException if the file cannot be opened or converted.
+     */
+    public MappedTasksDAO(Path path, File legacyCsv) throws TasksDAOException {
+        Path deltaPath = path.resolveSibling(path.getFileName() + ".delta");
+        if (!Files.exists(path) && !Files.exists(deltaPath) && legacyCsv != null && legacyCsv.exists()) {
+            BinaryTaskFile.convertCsv(legacyCsv, path);
+        }
+        Overlay o = new Overlay(BinaryTaskFile.open(path)); // maps the file, reads only its index
+        delta = TaskDeltaLog.open(deltaPath, o);
+        if (!delta.isEmpty()) {
+            try {
+                // merged from a heap copy, not the mapping, so the file can be replaced
+                o.merged(BinaryTaskFile.read(path).rewrite(o.puts, o.deletes, o.cleared, o.maxId));
+                delta.reset();
+            } catch (TasksDAOException e) {
+                // the file could not be replaced: keep the overlay, the log is merged at a later open
+            }
+        }
+        overlay = o;
+    }
+
+    /**
+     * Returns all tasks, ordered by ID.
+     *
+     * @return array of tasks (never {@code null}).
+     */
+    public synchronized ITask[] getTasks() {
+        return collect(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a single task by its ID, decoding only that task.
+     *
+     * @param id task identifier.
+     * @return the matching task, or {@code null} if not found.
+     */
+    public synchronized ITask getTask(int id) {
+        Overlay o = overlay;
+        ITask t = o.puts.get(id);
+        if (t != null || o.cleared || o.deletes.contains(id)) return t;
+        int i = o.file.indexOf(id);
+        return i < 0 ? null : o.file.get(i);
+    }
+
+    /**
+     * Returns up to {@code limit} tasks with an ID greater than {@code lastId}, ordered by ID.
+     *
+     * @param lastId the ID after which the page starts (exclusive).
+     * @param limit  maximum number of tasks in the page.
+     * @return the page (never {@code null}).
+     */
+    public synchronized ITask[] getTasksAfter(int lastId, int limit) {
+        return collect(lastId, Math.max(limit, 0));
+    }
+
+    /**
+     * Merges the mapped tasks and the overlay in ID order, decoding only the returned tasks.
+     */
+    private ITask[] collect(int lastId, int limit) {
+        BinaryTaskFile file = overlay.file;
+        TreeMap<Integer, ITask> puts = overlay.puts;
+        Set<Integer> deletes = overlay.deletes;
+        List<ITask> out = new ArrayList<>(Math.min(limit, file.size() + puts.size()));
+        int i = overlay.cleared ? file.size() : file.indexAfter(lastId);
+        Iterator<ITask> it = puts.tailMap(lastId, false).values().iterator();
+        ITask next = it.hasNext() ? it.next() : null;
+        while (out.size() < limit && (i < file.size() || next != null)) {
+            if (i < file.size()) {
+                int id = file.idAt(i);
+                if (deletes.contains(id) || puts.containsKey(id)) { // deleted, or replaced by the overlay
+                    i++;
+                    continue;
+                }
+                if (next == null || id < next.getId()) {
+                    out.add(file.get(i++));
+                    continue;
+                }
+            }
+            out.add(next);
+            next = it.hasNext() ? it.next() : null;
+        }
+        return out.toArray(new ITask[0]);
+    }
+
+    /**
+     * Adds a new task. A {@link Task} instance is updated in place with its new ID.
+     *
+     * @param task task to add.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public void addTask(ITask task) throws TasksDAOException {
+        addTasks(List.of(task));
+    }
+
+    /**
+     * Updates an existing task.
+     *
+     * @param task task with updated values.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public void updateTask(ITask task) throws TasksDAOException {
+        updateTasks(List.of(task));
+    }
+
+    /**
+     * Deletes all tasks.
+     *
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public synchronized void deleteTasks() throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        TaskDeltaLog.encodeClear(buf);
+        delta.append(buf);
+        overlay.clear();
+    }
+
+    /**
+     * Deletes a single task by its ID.
+     *
+     * @param id task identifier.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public void deleteTask(int id) throws TasksDAOException {
+        deleteTasks(new int[]{id});
+    }
+
+    /**
+     * Adds all given tasks with a single append.
+     * {@link Task} instances are updated in place with their new IDs.
+     *
+     * @param tasks tasks to add.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public synchronized void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        List<ITask> added = new ArrayList<>(tasks.size());
+        int id = overlay.maxId;
+        for (ITask t : tasks) {
+            ITask copy = new Task(++id, t.getTitle(), t.getDescription(), t.getState());
+            TaskDeltaLog.encodePut(buf, copy);
+            added.add(copy);
+        }
+        delta.append(buf);
+        Iterator<? extends ITask> it = tasks.iterator();
+        for (ITask copy : added) {
+            overlay.put(copy);
+            if (it.next() instanceof Task task) task.setId(copy.getId());
+        }
+    }
+
+    /**
+     * Updates all given tasks with a single append. Tasks that do not exist are ignored.
+     *
+     * @param tasks tasks with updated values.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public synchronized void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        List<ITask> copies = new ArrayList<>(tasks.size());
+        for (ITask t : tasks) {
+            if (!overlay.exists(t.getId())) continue;
+            ITask copy = new Task(t.getId(), t.getTitle(), t.getDescription(), t.getState());
+            TaskDeltaLog.encodePut(buf, copy);
+            copies.add(copy);
+        }
+        if (copies.isEmpty()) return;
+        delta.append(buf);
+        for (ITask copy : copies) overlay.put(copy);
+    }
+
+    /**
+     * Deletes the tasks with the given IDs with a single append.
+     *
+     * @param ids task identifiers.
+     * @throws TasksDAOException if the change cannot be written.
+     */
+    public synchronized void deleteTasks(int[] ids) throws TasksDAOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        List<Integer> gone = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            if (!overlay.exists(id)) continue;
+            TaskDeltaLog.encodeDelete(buf, id);
+            gone.add(id);
+        }
+        if (gone.isEmpty()) return;
+        delta.append(buf);
+        for (int id : gone) overlay.delete(id);
+    }
+
+    /**
+     * Closes the change log. The mapping of the binary file is released by the garbage collector.
+     *
+     * @throws TasksDAOException if the log cannot be closed.
+     */
+    public synchronized void close() throws TasksDAOException {
+        delta.close();
+    }
+}
@@ -0,0 +1,72 @@
+package il.ac.hit.project.main.model.dao;
+
+/**
+ * Immutable configuration of a {@link ConnectionPool}.
+ * <p>
+ * Values can be supplied directly or read from system properties via
+ * {@link #fromSystemProperties()}, which allows tuning the pool of a running
+ * installation without recompiling:
+ * <ul>
+ *   <li>{@code tasks.pool.minSize} – connections kept open even when idle (default 1)</li>
+ *   <li>{@code tasks.pool.maxSize} – upper bound of open connections (default 8)</li>
+ *   <li>{@code tasks.pool.idleTimeoutMillis} – idle time after which a connection is evicted (default 60000, 0 disables)</li>
+ *   <li>{@code tasks.pool.borrowTimeoutMillis} – how long a caller waits when the pool is exhausted (default 5000)</li>
+ *   <li>{@code tasks.pool.validationTimeoutSeconds} – timeout of the validation check on borrow (default 2)</li>
+ *   <li>{@code tasks.pool.statementCacheSize} – prepared statements cached per connection, LRU (default 32)</li>
+ * </ul>
+ *
+ * @param minSize                  minimum number of open connections
+ * @param maxSize                  maximum number of open connections
+ * @param idleTimeoutMillis        idle time before eviction, {@code 0} to never evict
+ * @param borrowTimeoutMillis      maximum time to wait for a free connection
+ * @param validationTimeoutSeconds timeout passed to {@link java.sql.Connection#isValid(int)}
+ * @param statementCacheSize       maximum number of prepared statements cached per connection
+ */
+public record PoolConfig(int minSize,
+                         int maxSize,
+                         long idleTimeoutMillis,
+                         long borrowTimeoutMillis,
+                         int validationTimeoutSeconds,
+                         int statementCacheSize) {
+
+    /**
+     * Validates the configuration values.
+     *
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    public PoolConfig {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be >= 1");
+        if (minSize < 0 || minSize > maxSize) throw new IllegalArgumentException("minSize must be in [0, maxSize]");
+        if (idleTimeoutMillis < 0) throw new IllegalArgumentException("idleTimeoutMillis must be >= 0");
+        if (borrowTimeoutMillis < 0) throw new IllegalArgumentException("borrowTimeoutMillis must be >= 0");
+        if (validationTimeoutSeconds < 0) throw new IllegalArgumentException("validationTimeoutSeconds must be >= 0");
+        if (statementCacheSize < 1) throw new IllegalArgumentException("statementCacheSize must be >= 1");
+    }
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return defaults suitable for the embedded Derby database
+     */
+    public static PoolConfig defaults() {
+        return new PoolConfig(1, 8, 60_000, 5_000, 2, 32);
+    }
+
+    /**
+     * Builds a configuration from {@code tasks.pool.*} system properties,
+     * falling back to {@link #defaults()} for every missing value.
+     *
+     * @return the resulting configuration
+     */
+    public static PoolConfig fromSystemProperties() {
+        PoolConfig d = defaults();
+        return new PoolConfig(
+                Integer.getInteger("tasks.pool.minSize", d.minSize()),
+                Integer.getInteger("tasks.pool.maxSize", d.maxSize()),
+                Long.getLong("tasks.pool.idleTimeoutMillis", d.idleTimeoutMillis()),
+                Long.getLong("tasks.pool.borrowTimeoutMillis", d.borrowTimeoutMillis()),
+                Integer.getInteger("tasks.pool.validationTimeoutSeconds", d.validationTimeoutSeconds()),
+                Integer.getInteger("tasks.pool.statementCacheSize", d.statementCacheSize())
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package il.ac.hit.project.main.model.dao;
+
+/**
+ * Point-in-time statistics of a {@link ConnectionPool}.
+ * <p>
+ * Instances are snapshots; call {@link ConnectionPool#stats()} again to get fresh values.
+ *
+ * @param active          connections currently borrowed by callers
+ * @param idle            connections currently waiting in the pool
+ * @param open            physical connections currently open (active + idle)
+ * @param borrowCount     total number of successful borrows
+ * @param timeoutCount    number of borrows that failed because the pool was exhausted
+ * @param totalWaitNanos  accumulated time callers spent waiting for a connection
+ * @param maxWaitNanos    longest single wait for a connection
+ * @param statementHits   prepared statements served from a connection's statement cache
+ * @param statementMisses prepared statements that had to be compiled
+ */
+public record PoolStats(int active,
+                        int idle,
+                        int open,
+                        long borrowCount,
+                        long timeoutCount,
+                        long totalWaitNanos,
+                        long maxWaitNanos,
+                        long statementHits,
+                        long statementMisses) {
+
+    /**
+     * @return the average wait per borrow in milliseconds (0 if nothing was borrowed yet)
+     */
+    public double averageWaitMillis() {
+        return borrowCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+    }
+
+    /**
+     * @return the longest single wait in milliseconds
+     */
+    public double maxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return the fraction of prepared-statement requests served from cache (0 if none yet)
+     */
+    public double statementHitRate() {
+        long total = statementHits + statementMisses;
+        return total == 0 ? 0 : (double) statementHits / total;
+    }
+}
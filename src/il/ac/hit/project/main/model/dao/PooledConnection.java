@@ -0,0 +1,193 @@
+package il.ac.hit.project.main.model.dao;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A physical JDBC connection leased from a {@link ConnectionPool}.
+ * <p>
+ * Closing a {@code PooledConnection} does not close the underlying connection;
+ * it hands it back to the pool, so callers keep using try-with-resources exactly
+ * as they would with a plain {@link Connection}:
+ * <pre>{@code
+ * try (PooledConnection c = pool.borrow(); Statement st = c.createStatement()) {
+ *     ...
+ * }
+ * }</pre>
+ * Each connection also keeps a small LRU cache of prepared statements keyed by SQL text
+ * (see {@link #prepareCached(String)}), so repeated queries skip Derby's statement compilation.
+ */
+public class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private volatile long lastUsedMillis = System.currentTimeMillis();
+    private boolean leased;
+
+    /**
+     * Wraps a freshly opened physical connection owned by the given pool.
+     *
+     * @param pool          the owning pool
+     * @param connection    the physical connection
+     * @param cacheCapacity maximum number of cached prepared statements
+     */
+    PooledConnection(ConnectionPool pool, Connection connection, int cacheCapacity) {
+        this.pool = pool;
+        this.connection = connection;
+        // access-ordered map = LRU; the eldest statement is closed when the capacity is exceeded
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= cacheCapacity) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the underlying physical connection.
+     * <p>
+     * The returned connection must not be closed by the caller.
+     *
+     * @return the JDBC connection
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Creates a plain statement on the underlying connection.
+     *
+     * @return a new statement (caller closes it)
+     * @throws SQLException if the connection fails
+     */
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    /**
+     * Prepares a statement on the underlying connection.
+     *
+     * @param sql SQL text
+     * @return a new prepared statement (caller closes it)
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Prepares a statement with generated-keys support on the underlying connection.
+     *
+     * @param sql               SQL text
+     * @param autoGeneratedKeys e.g. {@link Statement#RETURN_GENERATED_KEYS}
+     * @return a new prepared statement (caller closes it)
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL from this connection's statement cache,
+     * preparing (and caching) it on a miss.
+     * <p>
+     * The returned statement is owned by the cache: callers must <b>not</b> close it,
+     * only the result sets they obtain from it. Parameters and pending batches left over
+     * from a previous use are cleared.
+     *
+     * @param sql SQL text
+     * @return a ready-to-use prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareCached(String sql) throws SQLException {
+        return cached(sql, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Same as {@link #prepareCached(String)} for statements that return generated keys.
+     *
+     * @param sql               SQL text
+     * @param autoGeneratedKeys e.g. {@link Statement#RETURN_GENERATED_KEYS}
+     * @return a ready-to-use prepared statement (not to be closed by the caller)
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareCached(String sql, int autoGeneratedKeys) throws SQLException {
+        return cached(autoGeneratedKeys + ":" + sql, sql, autoGeneratedKeys);
+    }
+
+    /**
+     * Looks up (or prepares and stores) a statement under the given cache key.
+     */
+    private PreparedStatement cached(String key, String sql, int autoGeneratedKeys) throws SQLException {
+        PreparedStatement ps = statements.get(key);
+        if (ps != null && !ps.isClosed()) {
+            pool.recordStatementLookup(true);
+            ps.clearParameters();
+            ps.clearBatch();
+            return ps;
+        }
+        pool.recordStatementLookup(false);
+        ps = connection.prepareStatement(sql, autoGeneratedKeys);
+        statements.put(key, ps);
+        return ps;
+    }
+
+    /**
+     * Closes a statement, ignoring errors.
+     */
+    private static void closeQuietly(Statement st) {
+        try {
+            st.close();
+        } catch (SQLException ignore) {
+        }
+    }
+
+    /**
+     * Returns the connection to its pool. Calling it more than once has no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!leased) return;
+            leased = false;
+        }
+        pool.release(this);
+    }
+
+    /**
+     * Marks this connection as handed out to a caller.
+     */
+    synchronized void lease() {
+        leased = true;
+    }
+
+    /**
+     * Records the current time as the last moment this connection was used.
+     */
+    void touch() {
+        lastUsedMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the last time (epoch millis) this connection was handed back to the pool
+     */
+    long lastUsedMillis() {
+        return lastUsedMillis;
+    }
+
+    /**
+     * Closes the physical connection, ignoring errors.
+     */
+    void closePhysical() {
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+        try {
+            if (!connection.isClosed() && !connection.getAutoCommit()) connection.rollback();
+            connection.close();
+        } catch (SQLException ignore) {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+/**
+ * A forward-only cursor over all tasks of an {@link ITasksDAO}, ordered by ID.
+ * <p>
+ * Tasks are fetched lazily, {@code fetchSize} at a time, through keyset pagination
+ * ({@link ITasksDAO#getTasksAfter(int, int)}), so iterating even a very large table keeps
+ * at most one page in memory and never holds a database connection between pages.
+ * <pre>{@code
+ * TaskCursor cur = dao.openCursor(500);
+ * while (cur.hasNext()) {
+ *     ITask t = cur.next();
+ *     ...
+ * }
+ * }</pre>
+ */
+public class TaskCursor {
+    private final ITasksDAO dao;
+    private final int fetchSize;
+    private ITask[] page = new ITask[0];
+    private int pos;
+    private int lastId;
+    private boolean exhausted;
+
+    /**
+     * Creates a cursor positioned before the first task.
+     *
+     * @param dao       the DAO to read from
+     * @param fetchSize number of tasks fetched per round trip (must be positive)
+     */
+    public TaskCursor(ITasksDAO dao, int fetchSize) {
+        if (fetchSize <= 0) throw new IllegalArgumentException("fetchSize must be positive");
+        this.dao = dao;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns whether another task is available, fetching the next page if needed.
+     *
+     * @return {@code true} if {@link #next()} will return a task
+     * @throws TasksDAOException if fetching the next page fails
+     */
+    public boolean hasNext() throws TasksDAOException {
+        if (pos < page.length) return true;
+        if (exhausted) return false;
+        page = dao.getTasksAfter(lastId, fetchSize);
+        pos = 0;
+        if (page.length < fetchSize) exhausted = true; // short page = end of table
+        if (page.length > 0) lastId = page[page.length - 1].getId();
+        return page.length > 0;
+    }
+
+    /**
+     * Returns the next task.
+     *
+     * @return the next task in ID order
+     * @throws TasksDAOException             if fetching the next page fails
+     * @throws java.util.NoSuchElementException if there are no more tasks
+     */
+    public ITask next() throws TasksDAOException {
+        if (!hasNext()) throw new java.util.NoSuchElementException();
+        return page[pos++];
+    }
+}
@@ -0,0 +1,228 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only change log that {@link MappedTasksDAO} keeps next to its {@link BinaryTaskFile}.
+ * <p>
+ * The mapped file is never written while it is in use; every change is appended here instead,
+ * so a change costs I/O proportional to the changed tasks only. Opening the DAO replays the log
+ * and merges it into a new version of the binary file.
+ * <p>
+ * File layout: a header ({@code "TDLT"} and a format version) followed by records
+ * <pre>
+ *   int length | payload | int CRC32(payload)
+ *   payload = byte op | task record (as in BinaryTaskFile)     for P (put)
+ *   payload = byte op | int id                                 for D (delete) and C (delete all, id 0)
+ * </pre>
+ * A record cut short by a crash, or one with a bad checksum, ends the replay and is truncated away.
+ * Replaying a record twice has the same effect as once, so a crash between merging the log into
+ * the binary file and emptying the log loses nothing.
+ */
+final class TaskDeltaLog implements AutoCloseable {
+    private static final int MAGIC = 0x54444C54; // "TDLT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte OP_PUT = 'P';
+    private static final byte OP_DELETE = 'D';
+    private static final byte OP_CLEAR = 'C';
+
+    /**
+     * Receives the replayed changes, in log order.
+     */
+    interface Sink {
+        /**
+         * @param task a task added or updated
+         */
+        void put(ITask task);
+
+        /**
+         * @param id the ID of a deleted task
+         */
+        void delete(int id);
+
+        /**
+         * All tasks were deleted.
+         */
+        void clear();
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+
+    private TaskDeltaLog(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens (or creates) a change log and replays it into {@code sink}.
+     *
+     * @param path the log file
+     * @param sink receives the logged changes
+     * @return the open log, positioned for appending
+     * @throws TasksDAOException if the log cannot be opened or is not a change log
+     */
+    static TaskDeltaLog open(Path path, Sink sink) throws TasksDAOException {
+        FileChannel ch = null;
+        try {
+            ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (ch.size() < HEADER_SIZE) {
+                ch.truncate(0); // also discards a header torn by a crash
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                while (header.hasRemaining()) ch.write(header);
+                ch.force(false);
+            } else {
+                replay(ch, path, sink);
+            }
+            ch.position(ch.size());
+            return new TaskDeltaLog(path, ch);
+        } catch (IOException | TasksDAOException e) {
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (e instanceof TasksDAOException t) throw t;
+            throw new TasksDAOException("open task delta", e);
+        }
+    }
+
+    private static void replay(FileChannel ch, Path path, Sink sink) throws IOException, TasksDAOException {
+        long size = ch.size();
+        long good = HEADER_SIZE;
+        ch.position(0);
+        // not closed: closing the stream would close the channel
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), 1 << 16));
+        if (in.readInt() != MAGIC) throw new TasksDAOException("not a task delta log: " + path);
+        int version = in.readInt();
+        if (version != VERSION) throw new TasksDAOException("unsupported task delta version " + version);
+        CRC32 crc = new CRC32();
+        while (true) {
+            int len;
+            try {
+                len = in.readInt();
+            } catch (EOFException end) {
+                break; // clean end of log
+            }
+            if (len <= 0 || len > size - good - 4) break; // torn or garbage length
+            byte[] payload = new byte[len];
+            int checksum;
+            try {
+                in.readFully(payload);
+                checksum = in.readInt();
+            } catch (EOFException torn) {
+                break;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) break;
+            ByteBuffer p = ByteBuffer.wrap(payload);
+            switch (p.get(0)) {
+                case OP_PUT -> sink.put(BinaryTaskFile.decode(p, 1));
+                case OP_DELETE -> sink.delete(p.getInt(1));
+                case OP_CLEAR -> sink.clear();
+                default -> throw new TasksDAOException("unknown task delta record " + p.get(0));
+            }
+            good += 8 + len;
+        }
+        if (good < size) ch.truncate(good); // drop the torn tail
+    }
+
+    /**
+     * @return {@code true} if the log holds no changes
+     * @throws TasksDAOException if the file size cannot be read
+     */
+    boolean isEmpty() throws TasksDAOException {
+        try {
+            return channel.size() <= HEADER_SIZE;
+        } catch (IOException e) {
+            throw new TasksDAOException("read task delta", e);
+        }
+    }
+
+    /**
+     * Appends encoded records in one write and forces them to the disk.
+     *
+     * @param records records built with {@link #encodePut}, {@link #encodeDelete} and {@link #encodeClear}
+     * @throws TasksDAOException if the records cannot be written
+     */
+    void append(ByteArrayOutputStream records) throws TasksDAOException {
+        try {
+            ByteBuffer b = ByteBuffer.wrap(records.toByteArray());
+            while (b.hasRemaining()) channel.write(b);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new TasksDAOException("append task delta", e);
+        }
+    }
+
+    /**
+     * Empties the log, once its changes are part of the binary file.
+     *
+     * @throws TasksDAOException if the file cannot be truncated
+     */
+    void reset() throws TasksDAOException {
+        try {
+            channel.truncate(HEADER_SIZE);
+            channel.position(HEADER_SIZE);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new TasksDAOException("reset task delta " + path, e);
+        }
+    }
+
+    /**
+     * Closes the log file.
+     *
+     * @throws TasksDAOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws TasksDAOException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new TasksDAOException("close task delta", e);
+        }
+    }
+
+    static void encodePut(ByteArrayOutputStream out, ITask t) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream p = new DataOutputStream(payload)) {
+            p.writeByte(OP_PUT);
+            BinaryTaskFile.writeTask(p, t, t.getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for an in-memory stream
+        }
+        frame(out, payload.toByteArray());
+    }
+
+    static void encodeDelete(ByteArrayOutputStream out, int id) {
+        frame(out, ByteBuffer.allocate(5).put(OP_DELETE).putInt(id).array());
+    }
+
+    static void encodeClear(ByteArrayOutputStream out) {
+        frame(out, ByteBuffer.allocate(5).put(OP_CLEAR).putInt(0).array());
+    }
+
+    /**
+     * Writes {@code length | payload | crc} to {@code out}.
+     */
+    private static void frame(ByteArrayOutputStream out, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(payload.length).array());
+        out.writeBytes(payload);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+}
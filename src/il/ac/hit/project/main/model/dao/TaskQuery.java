@@ -0,0 +1,128 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.TaskState;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Query object describing which tasks to fetch from an {@link ITasksDAO} and in which order.
+ * <p>
+ * Database-backed DAOs translate it into SQL ({@code WHERE}, {@code ORDER BY},
+ * {@code OFFSET/FETCH}), so only the requested page leaves the database;
+ * other DAOs evaluate it in memory with {@link #toPredicate()} and {@link #toComparator()}.
+ * <pre>{@code
+ * TaskQuery q = TaskQuery.all()
+ *         .withState(TaskState.ToDo)
+ *         .withTitleContains("report")
+ *         .withSort(TaskQuery.SortKey.TITLE)
+ *         .withPage(0, 50);
+ * ITask[] page = dao.query(q);
+ * }</pre>
+ *
+ * @param state         only tasks in this state, or {@code null} for any state
+ * @param titleContains case-insensitive title substring, or {@code null}/blank for any title
+ * @param sortKey       ordering of the result (ties are always broken by ID)
+ * @param offset        number of matching tasks to skip
+ * @param limit         maximum number of tasks to return, {@code 0} for no limit
+ */
+public record TaskQuery(TaskState state, String titleContains, SortKey sortKey, int offset, int limit) {
+
+    /**
+     * Sort keys supported by {@link TaskQuery}.
+     */
+    public enum SortKey {
+        /**
+         * Ascending task ID.
+         */
+        ID,
+        /**
+         * Title, then ID.
+         */
+        TITLE,
+        /**
+         * State, then ID.
+         */
+        STATE
+    }
+
+    /**
+     * Validates and normalizes the query values.
+     */
+    public TaskQuery {
+        if (sortKey == null) sortKey = SortKey.ID;
+        if (titleContains != null && titleContains.isBlank()) titleContains = null;
+        if (offset < 0) throw new IllegalArgumentException("offset must be >= 0");
+        if (limit < 0) throw new IllegalArgumentException("limit must be >= 0");
+    }
+
+    /**
+     * @return a query matching all tasks, ordered by ID, without paging
+     */
+    public static TaskQuery all() {
+        return new TaskQuery(null, null, SortKey.ID, 0, 0);
+    }
+
+    /**
+     * @param s the state to match, or {@code null} for any state
+     * @return a copy of this query restricted to the given state
+     */
+    public TaskQuery withState(TaskState s) {
+        return new TaskQuery(s, titleContains, sortKey, offset, limit);
+    }
+
+    /**
+     * @param q case-insensitive title substring, or {@code null} for any title
+     * @return a copy of this query restricted to titles containing {@code q}
+     */
+    public TaskQuery withTitleContains(String q) {
+        return new TaskQuery(state, q, sortKey, offset, limit);
+    }
+
+    /**
+     * @param key the sort key
+     * @return a copy of this query with the given ordering
+     */
+    public TaskQuery withSort(SortKey key) {
+        return new TaskQuery(state, titleContains, key, offset, limit);
+    }
+
+    /**
+     * @param off number of matching tasks to skip
+     * @param lim maximum number of tasks to return, {@code 0} for no limit
+     * @return a copy of this query returning the given page
+     */
+    public TaskQuery withPage(int off, int lim) {
+        return new TaskQuery(state, titleContains, sortKey, off, lim);
+    }
+
+    /**
+     * Returns an in-memory predicate equivalent to the query's filter part.
+     *
+     * @return predicate matching the same tasks as the query
+     */
+    public Predicate<ITask> toPredicate() {
+        String q = titleContains == null ? null : titleContains.toLowerCase();
+        return t -> (state == null || t.getState() == state)
+                && (q == null || (t.getTitle() != null && t.getTitle().toLowerCase().contains(q)));
+    }
+
+    /**
+     * Returns an in-memory comparator equivalent to the query's ordering.
+     * <p>
+     * It mirrors SQL ordering: titles compare by code point with {@code null}s last,
+     * and states compare by their stored (enum) name.
+     *
+     * @return comparator ordering tasks like the query
+     */
+    public Comparator<ITask> toComparator() {
+        Comparator<ITask> byId = Comparator.comparingInt(ITask::getId);
+        return switch (sortKey) {
+            case ID -> byId;
+            case TITLE -> Comparator.comparing(ITask::getTitle, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                    .thenComparing(byId);
+            case STATE -> Comparator.comparing((ITask t) -> t.getState().name()).thenComparing(byId);
+        };
+    }
+}
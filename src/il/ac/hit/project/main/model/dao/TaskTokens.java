@@ -0,0 +1,97 @@
+package il.ac.hit.project.main.model.dao;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Splits task text into search tokens for {@link ITasksDAO#search(String)}.
+ * <p>
+ * A token is a maximal run of letters and digits, lowercased; tokens longer than
+ * {@link #MAX_LENGTH} characters are truncated. Queries are split the same way, and a
+ * task matches a query when, for every query term, some token of its title or description
+ * starts with that term. {@link TasksDAODerby} stores the tokens in a table so the match
+ * is answered by index lookups; other DAOs evaluate {@link #matcher(String)} in memory.
+ */
+public final class TaskTokens {
+
+    /**
+     * Maximum stored token length (the width of the token column).
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private TaskTokens() {
+    }
+
+    /**
+     * Returns the distinct tokens of a task's title and description.
+     *
+     * @param t the task
+     * @return the tokens, in no particular order
+     */
+    public static Set<String> of(ITask t) {
+        Set<String> out = new HashSet<>();
+        split(t.getTitle(), out);
+        split(t.getDescription(), out);
+        return out;
+    }
+
+    /**
+     * Returns the terms of a query, dropping terms implied by a longer one
+     * (every token starting with "report" also starts with "rep").
+     *
+     * @param query the search text, may be {@code null}
+     * @return the terms (empty for a blank query)
+     */
+    public static List<String> terms(String query) {
+        Set<String> all = new TreeSet<>();
+        split(query, all);
+        List<String> out = new ArrayList<>();
+        for (String term : all) {
+            if (!out.isEmpty() && term.startsWith(out.get(out.size() - 1))) out.remove(out.size() - 1);
+            out.add(term); // sorted, so a term's longer variants follow it directly
+        }
+        return out;
+    }
+
+    /**
+     * Returns an in-memory predicate matching the tasks {@link ITasksDAO#search(String)} returns.
+     *
+     * @param query the search text; a blank query matches every task
+     * @return the predicate
+     */
+    public static Predicate<ITask> matcher(String query) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) return t -> true;
+        return t -> {
+            Set<String> tokens = of(t);
+            for (String term : terms) {
+                boolean found = false;
+                for (String token : tokens) {
+                    if (token.startsWith(term)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) return false;
+            }
+            return true;
+        };
+    }
+
+    private static void split(String s, Collection<String> out) {
+        if (s == null) return;
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean word = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String token = s.substring(start, i).toLowerCase(Locale.ROOT);
+                out.add(token.length() > MAX_LENGTH ? token.substring(0, MAX_LENGTH) : token);
+                start = -1;
+            }
+        }
+    }
+}
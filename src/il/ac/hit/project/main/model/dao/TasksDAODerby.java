@@ -12,13 +12,43 @@ import java.util.*;
  * This class is a singleton (see {@link #getInstance()}) and provides
  * full CRUD operations on the tasks table. It also handles creating
  * the database schema if it does not exist.
+ * <p>
+ * Connections are not opened per call; every operation borrows one from a
+ * {@link ConnectionPool} and returns it when done (see {@link #getPoolStats()}).
+ * Statements are taken from the connection's prepared-statement cache, so the fixed
+ * queries below are compiled by Derby only once per connection.
+ * <p>
+ * A {@code task_tokens(task_id, token)} table indexes the words of every title and
+ * description (see {@link TaskTokens}). It is written in the same transaction as the task
+ * itself and cleaned up by {@code ON DELETE CASCADE}, so {@link #search(String)} can answer
+ * multi-term queries with index lookups instead of reading every description CLOB.
  */
 public class TasksDAODerby implements ITasksDAO {
+    private static final String URL = "jdbc:derby:tasksDB;create=true"; // auto-create DB if not exists
+
+    // SQL used with the per-connection statement cache (see PooledConnection#prepareCached)
+    private static final String SQL_SELECT_ALL = "SELECT id,title,description,state FROM tasks ORDER BY id";
+    private static final String SQL_SELECT_PAGE =
+            "SELECT id,title,description,state FROM tasks WHERE id > ? ORDER BY id FETCH NEXT ? ROWS ONLY";
+    private static final String SQL_SELECT_ONE = "SELECT id,title,description,state FROM tasks WHERE id=?";
+    private static final String SQL_INSERT = "INSERT INTO tasks (title, description, state) VALUES (?,?,?)";
+    private static final String SQL_UPDATE = "UPDATE tasks SET title=?,description=?,state=? WHERE id=?";
+    private static final String SQL_DELETE = "DELETE FROM tasks WHERE id=?";
+    private static final String SQL_DELETE_ALL = "DELETE FROM tasks";
+    private static final String SQL_INSERT_TOKEN = "INSERT INTO task_tokens (task_id, token) VALUES (?,?)";
+    private static final String SQL_DELETE_TOKENS = "DELETE FROM task_tokens WHERE task_id=?";
+    private static final String SQL_DELETE_ALL_TOKENS = "DELETE FROM task_tokens";
     private static TasksDAODerby instance;
 
+    /**
+     * Pool of reusable connections shared by all DAO operations.
+     */
+    private final ConnectionPool pool;
+
     /**
      * Private constructor to enforce Singleton pattern.
-     * Initializes Derby EmbeddedDriver and creates the tasks table if missing.
+     * Initializes Derby EmbeddedDriver, opens the connection pool
+     * (configured via {@link PoolConfig#fromSystemProperties()}) and creates the tasks table if missing.
      *
      * @throws TasksDAOException if database initialization fails
      */
@@ -28,6 +58,7 @@ public class TasksDAODerby implements ITasksDAO {
                 Class.forName("org.apache.derby.jdbc.EmbeddedDriver"); // load Derby driver
             } catch (ClassNotFoundException ignore) {
             }
+            pool = new ConnectionPool(URL, PoolConfig.fromSystemProperties());
             init(); // ensure table exists
         } catch (java.sql.SQLException e) {
             throw new TasksDAOException("init", e);
@@ -43,27 +74,106 @@ public class TasksDAODerby implements ITasksDAO {
     }
 
     /**
-     * Opens a new connection to the embedded Derby database.
+     * Borrows a connection to the embedded Derby database from the pool.
+     * Closing the returned connection hands it back to the pool.
+     */
+    private PooledConnection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    /**
+     * Returns runtime statistics of the underlying connection pool
+     * (active/idle connections, wait times, exhaustion count).
+     *
+     * @return a snapshot of the pool statistics
      */
-    private Connection getConnection() throws SQLException {
-        String URL = "jdbc:derby:tasksDB;create=true"; // auto-create DB if not exists
-        return DriverManager.getConnection(URL);
+    public PoolStats getPoolStats() {
+        return pool.stats();
     }
 
     /**
-     * Creates the tasks table if it does not already exist.
+     * Creates the tasks table and its secondary indexes if they do not already exist.
+     * <p>
+     * The indexes on {@code state} and {@code title} serve the filtered and ordered
+     * queries issued by {@link #query(TaskQuery)} and {@link #count(TaskQuery)}.
+     * The token table's primary key {@code (token, task_id)} serves {@link #search(String)};
+     * when the table is new, the tokens of the existing tasks are written once.
      */
     private void init() throws SQLException {
-        try (Connection c = getConnection(); Statement st = c.createStatement()) {
-            st.executeUpdate(
+        try (PooledConnection c = getConnection(); Statement st = c.createStatement()) {
+            createIfMissing(st,
                     "CREATE TABLE tasks (" +
                             "id INT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, " +
                             "title VARCHAR(255), " +
                             "description CLOB, " +
                             "state VARCHAR(32))"
             );
+            createIfMissing(st, "CREATE INDEX tasks_state_idx ON tasks(state)");
+            createIfMissing(st, "CREATE INDEX tasks_title_idx ON tasks(title)");
+            boolean created = createIfMissing(st,
+                    "CREATE TABLE task_tokens (" +
+                            "task_id INT NOT NULL REFERENCES tasks(id) ON DELETE CASCADE, " +
+                            "token VARCHAR(" + TaskTokens.MAX_LENGTH + ") NOT NULL, " +
+                            "PRIMARY KEY (token, task_id))"
+            );
+            if (created) reindex(c);
+        }
+    }
+
+    /**
+     * Writes the tokens of all existing tasks in one transaction.
+     */
+    private static void reindex(PooledConnection c) throws SQLException {
+        c.connection().setAutoCommit(false);
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id,title,description FROM tasks")) {
+            PreparedStatement ins = c.prepareCached(SQL_INSERT_TOKEN);
+            int pending = 0;
+            while (rs.next()) {
+                Task t = new Task(rs.getInt(1), rs.getString(2), rs.getString(3), TaskState.ToDo);
+                pending += addTokens(ins, t.getId(), t);
+                if (pending >= 1_000) {
+                    ins.executeBatch();
+                    pending = 0;
+                }
+            }
+            ins.executeBatch();
+            c.connection().commit();
+        } catch (SQLException e) {
+            c.connection().rollback();
+            throw e;
+        } finally {
+            c.connection().setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Adds one token row per distinct token of the task to the insert statement's batch.
+     *
+     * @return number of rows added
+     */
+    private static int addTokens(PreparedStatement ins, int id, ITask t) throws SQLException {
+        Set<String> tokens = TaskTokens.of(t);
+        for (String token : tokens) {
+            ins.setInt(1, id);
+            ins.setString(2, token);
+            ins.addBatch();
+        }
+        return tokens.size();
+    }
+
+    /**
+     * Executes a DDL statement, ignoring the error raised when the object already exists.
+     *
+     * @return {@code true} if the object was created
+     */
+    private static boolean createIfMissing(Statement st, String ddl) throws SQLException {
+        try {
+            st.executeUpdate(ddl);
+            return true;
         } catch (SQLException e) {
-            if (!"X0Y32".equals(e.getSQLState())) throw e; // X0Y32 = table already exists
+            if (!"X0Y32".equals(e.getSQLState())) throw e; // X0Y32 = table/index already exists
+            return false;
         }
     }
 
@@ -93,8 +203,8 @@ public class TasksDAODerby implements ITasksDAO {
      * @throws TasksDAOException if SQL error occurs
      */
     public ITask[] getTasks() throws TasksDAOException {
-        try (Connection c = getConnection(); Statement st = c.createStatement()) {
-            ResultSet rs = st.executeQuery("SELECT id,title,description,state FROM tasks ORDER BY id");
+        try (PooledConnection c = getConnection();
+             ResultSet rs = c.prepareCached(SQL_SELECT_ALL).executeQuery()) {
             java.util.List<ITask> list = new java.util.ArrayList<>();
             while (rs.next()) {
                 list.add(new Task(
@@ -118,8 +228,8 @@ public class TasksDAODerby implements ITasksDAO {
      * @throws TasksDAOException if SQL error occurs
      */
     public ITask getTask(int id) throws TasksDAOException {
-        final String sql = "SELECT id,title,description,state FROM tasks WHERE id=?";
-        try (Connection c = getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(SQL_SELECT_ONE); // cached, not closed here
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -138,94 +248,404 @@ public class TasksDAODerby implements ITasksDAO {
     }
 
     /**
-     * Adds a new task to the database and sets its generated ID.
+     * Retrieves one page of tasks after the given ID using keyset pagination
+     * ({@code WHERE id > ? ORDER BY id FETCH NEXT ? ROWS ONLY}), which walks the
+     * primary-key index instead of scanning and skipping rows.
      *
-     * @param t the task to add
+     * @param lastId the ID after which the page starts (exclusive)
+     * @param limit  maximum number of tasks in the page
+     * @return the page, never null
      * @throws TasksDAOException if SQL error occurs
      */
-    @Override
-    public void addTask(ITask t) throws TasksDAOException {
-        final String sql = "INSERT INTO tasks (title, description, state) VALUES (?,?,?)";
-        try (Connection c = getConnection();
-             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    public ITask[] getTasksAfter(int lastId, int limit) throws TasksDAOException {
+        if (limit <= 0) return new ITask[0];
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(SQL_SELECT_PAGE);
+            ps.setInt(1, lastId);
+            ps.setInt(2, limit);
+            ps.setFetchSize(Math.min(limit, 1_000));
+            try (ResultSet rs = ps.executeQuery()) {
+                java.util.List<ITask> list = new java.util.ArrayList<>(Math.min(limit, 1_000));
+                while (rs.next()) {
+                    list.add(new Task(
+                            rs.getInt(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            toState(rs.getString("state"))
+                    ));
+                }
+                return list.toArray(new ITask[0]);
+            }
+        } catch (Exception e) {
+            throw new TasksDAOException("getTasksAfter", e);
+        }
+    }
 
-            ps.setString(1, t.getTitle());
-            ps.setString(2, t.getDescription());
-            ps.setString(3, t.getState().name()); // save enum name
-            ps.executeUpdate();
+    /**
+     * Retrieves the tasks matching the query, with filtering, ordering and paging
+     * compiled into SQL ({@code WHERE state = ?}, {@code LOWER(title) LIKE ?},
+     * {@code ORDER BY}, {@code OFFSET ? ROWS FETCH NEXT ? ROWS ONLY}).
+     * <p>
+     * Titles are ordered by code point (Derby's default collation), not by the
+     * locale-aware {@link java.text.Collator} used for in-memory sorting.
+     *
+     * @param q the query
+     * @return the requested page of matching tasks, never null
+     * @throws TasksDAOException if SQL error occurs
+     */
+    @Override
+    public ITask[] query(TaskQuery q) throws TasksDAOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id,title,description,state FROM tasks");
+        appendWhere(sql, params, q);
+        sql.append(switch (q.sortKey()) {
+            case ID -> " ORDER BY id";
+            case TITLE -> " ORDER BY title, id";
+            case STATE -> " ORDER BY state, id";
+        });
+        if (q.offset() > 0) {
+            sql.append(" OFFSET ? ROWS");
+            params.add(q.offset());
+        }
+        if (q.limit() > 0) {
+            sql.append(" FETCH NEXT ? ROWS ONLY");
+            params.add(q.limit());
+        }
 
-            // First try JDBC-generated keys
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    int id = rs.getInt(1);
-                    ((Task) t).setId(id);
-                    return;
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(sql.toString());
+            bind(ps, params);
+            if (q.limit() > 0) ps.setFetchSize(Math.min(q.limit(), 1_000));
+            try (ResultSet rs = ps.executeQuery()) {
+                List<ITask> list = new ArrayList<>();
+                while (rs.next()) {
+                    list.add(new Task(
+                            rs.getInt(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            toState(rs.getString("state"))
+                    ));
                 }
+                return list.toArray(new ITask[0]);
             }
+        } catch (Exception e) {
+            throw new TasksDAOException("query", e);
+        }
+    }
 
-            // Fallback for Derby
-            try (Statement st = c.createStatement();
-                 ResultSet rs = st.executeQuery("VALUES IDENTITY_VAL_LOCAL()")) {
-                if (rs.next()) {
-                    int id = rs.getInt(1);
-                    ((Task) t).setId(id);
-                    return;
+    /**
+     * Counts the tasks matching the query's filter with {@code SELECT COUNT(*)}.
+     *
+     * @param q the query (ordering and paging are ignored)
+     * @return number of matching tasks
+     * @throws TasksDAOException if SQL error occurs
+     */
+    @Override
+    public int count(TaskQuery q) throws TasksDAOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM tasks");
+        appendWhere(sql, params, q);
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(sql.toString());
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (Exception e) {
+            throw new TasksDAOException("count", e);
+        }
+    }
+
+    /**
+     * Searches titles and descriptions through the token table: every query term becomes one
+     * {@code id IN (SELECT task_id FROM task_tokens WHERE token LIKE 'term%')} condition, a
+     * range scan of the token index. Only the matching rows are read from {@code tasks}.
+     *
+     * @param query the search text; a blank query returns every task
+     * @return the matching tasks ordered by ID, never null
+     * @throws TasksDAOException if SQL error occurs
+     */
+    @Override
+    public ITask[] search(String query) throws TasksDAOException {
+        List<String> terms = TaskTokens.terms(query);
+        if (terms.isEmpty()) return getTasks();
+        StringBuilder sql = new StringBuilder("SELECT id,title,description,state FROM tasks WHERE ");
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) sql.append(" AND ");
+            sql.append("id IN (SELECT task_id FROM task_tokens WHERE token LIKE ?)");
+        }
+        sql.append(" ORDER BY id");
+
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(sql.toString()); // one statement per term count
+            for (int i = 0; i < terms.size(); i++) {
+                ps.setString(i + 1, terms.get(i) + "%"); // tokens hold only letters and digits
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                List<ITask> list = new ArrayList<>();
+                while (rs.next()) {
+                    list.add(new Task(
+                            rs.getInt(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            toState(rs.getString("state"))
+                    ));
                 }
+                return list.toArray(new ITask[0]);
             }
+        } catch (Exception e) {
+            throw new TasksDAOException("search", e);
+        }
+    }
 
-            throw new TasksDAOException("Failed to obtain generated id");
+    /**
+     * Appends the {@code WHERE} clause for the query's state and title criteria.
+     * Only the criteria that are set become SQL, so each combination maps to one
+     * cached statement.
+     */
+    private static void appendWhere(StringBuilder sql, List<Object> params, TaskQuery q) {
+        List<String> conds = new ArrayList<>();
+        if (q.state() != null) {
+            conds.add("state = ?");
+            params.add(q.state().name());
+        }
+        if (q.titleContains() != null) {
+            conds.add("LOWER(title) LIKE ? ESCAPE '\\'");
+            params.add("%" + escapeLike(q.titleContains().toLowerCase()) + "%");
+        }
+        if (!conds.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", conds));
+    }
+
+    /**
+     * Escapes LIKE wildcards so the user's text is matched literally.
+     */
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
+    /**
+     * Binds positional parameters (strings and integers) to a prepared statement.
+     */
+    private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            Object p = params.get(i);
+            if (p instanceof Integer n) ps.setInt(i + 1, n);
+            else ps.setString(i + 1, (String) p);
+        }
+    }
+
+    /**
+     * Adds a new task and its search tokens in one transaction and sets its generated ID.
+     *
+     * @param t the task to add
+     * @throws TasksDAOException if SQL error occurs
+     */
+    @Override
+    public void addTask(ITask t) throws TasksDAOException {
+        try (PooledConnection c = getConnection()) {
+            c.connection().setAutoCommit(false);
+            try {
+                PreparedStatement ps = c.prepareCached(SQL_INSERT, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, t.getTitle());
+                ps.setString(2, t.getDescription());
+                ps.setString(3, t.getState().name()); // save enum name
+                ps.executeUpdate();
+
+                int id = generatedId(c, ps);
+                PreparedStatement ins = c.prepareCached(SQL_INSERT_TOKEN);
+                addTokens(ins, id, t);
+                ins.executeBatch();
+                c.connection().commit();
+                ((Task) t).setId(id);
+            } catch (SQLException e) {
+                c.connection().rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             throw new TasksDAOException("addTask", e);
         }
     }
 
     /**
-     * Updates an existing task in the database.
+     * Returns the ID generated by the last insert of {@code ps}.
+     */
+    private static int generatedId(PooledConnection c, PreparedStatement ps) throws SQLException {
+        // First try JDBC-generated keys
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            if (rs.next()) return rs.getInt(1);
+        }
+
+        // Fallback for Derby
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("VALUES IDENTITY_VAL_LOCAL()")) {
+            if (rs.next()) return rs.getInt(1);
+        }
+
+        throw new SQLException("Failed to obtain generated id");
+    }
+
+    /**
+     * Updates an existing task and replaces its search tokens in one transaction.
      *
      * @param t the task with updated fields
      * @throws TasksDAOException if SQL error occurs
      */
     public void updateTask(ITask t) throws TasksDAOException {
-        try (Connection c = getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "UPDATE tasks SET title=?,description=?,state=? WHERE id=?")) {
-            ps.setString(1, t.getTitle());
-            ps.setString(2, t.getDescription());
-            ps.setString(3, t.getState().name()); // store enum name
-            ps.setInt(4, t.getId());
-            ps.executeUpdate();
-        } catch (Exception e) {
-            throw new TasksDAOException("updateTask", e);
-        }
+        updateTasks(List.of(t));
     }
 
     /**
-     * Deletes all tasks from the database.
+     * Deletes all tasks and search tokens from the database in one transaction.
+     * The tokens are deleted first, so the cascade has nothing left to do.
      *
      * @throws TasksDAOException if SQL error occurs
      */
     public void deleteTasks() throws TasksDAOException {
-        try (Connection c = getConnection(); Statement st = c.createStatement()) {
-            st.executeUpdate("DELETE FROM tasks");
+        try (PooledConnection c = getConnection()) {
+            c.connection().setAutoCommit(false);
+            try {
+                c.prepareCached(SQL_DELETE_ALL_TOKENS).executeUpdate();
+                c.prepareCached(SQL_DELETE_ALL).executeUpdate();
+                c.connection().commit();
+            } catch (SQLException e) {
+                c.connection().rollback();
+                throw e;
+            }
         } catch (Exception e) {
             throw new TasksDAOException("deleteTasks", e);
         }
     }
 
     /**
-     * Deletes a specific task by its ID.
+     * Deletes a specific task by its ID; its search tokens go with it ({@code ON DELETE CASCADE}).
      *
      * @param id task id
      * @throws TasksDAOException if SQL error occurs
      */
     public void deleteTask(int id) throws TasksDAOException {
-        try (Connection c = getConnection();
-             PreparedStatement ps = c.prepareStatement("DELETE FROM tasks WHERE id=?")) {
+        try (PooledConnection c = getConnection()) {
+            PreparedStatement ps = c.prepareCached(SQL_DELETE);
             ps.setInt(1, id);
             ps.executeUpdate();
         } catch (Exception e) {
             throw new TasksDAOException("deleteTask", e);
         }
     }
+
+    /**
+     * Adds many tasks and their search tokens in a single transaction and sets their generated IDs.
+     * <p>
+     * One cached statement is reused for every row. Rows are executed one by one
+     * rather than with {@code executeBatch()} because Derby only reports the generated key
+     * of the last row of a batch; everything is still committed at once. The token rows
+     * are written as one batch.
+     *
+     * @param tasks the tasks to add
+     * @throws TasksDAOException if SQL error occurs (the whole batch is rolled back)
+     */
+    @Override
+    public void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        if (tasks.isEmpty()) return;
+        try (PooledConnection c = getConnection()) {
+            c.connection().setAutoCommit(false);
+            try {
+                PreparedStatement ps = c.prepareCached(SQL_INSERT, Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement ins = c.prepareCached(SQL_INSERT_TOKEN);
+                int[] ids = new int[tasks.size()];
+                int i = 0;
+                for (ITask t : tasks) {
+                    ps.setString(1, t.getTitle());
+                    ps.setString(2, t.getDescription());
+                    ps.setString(3, t.getState().name());
+                    ps.executeUpdate();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (!rs.next()) throw new SQLException("Failed to obtain generated id");
+                        ids[i] = rs.getInt(1);
+                    }
+                    addTokens(ins, ids[i++], t);
+                }
+                ins.executeBatch();
+                c.connection().commit();
+                i = 0;
+                for (ITask t : tasks) ((Task) t).setId(ids[i++]); // only once committed
+            } catch (SQLException e) {
+                c.connection().rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new TasksDAOException("addTasks", e);
+        }
+    }
+
+    /**
+     * Updates many tasks with a single JDBC batch in one transaction, replacing their
+     * search tokens in the same transaction.
+     *
+     * @param tasks the tasks with updated fields
+     * @throws TasksDAOException if SQL error occurs (the whole batch is rolled back)
+     */
+    @Override
+    public void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        if (tasks.isEmpty()) return;
+        try (PooledConnection c = getConnection()) {
+            c.connection().setAutoCommit(false);
+            try {
+                PreparedStatement ps = c.prepareCached(SQL_UPDATE);
+                for (ITask t : tasks) {
+                    ps.setString(1, t.getTitle());
+                    ps.setString(2, t.getDescription());
+                    ps.setString(3, t.getState().name());
+                    ps.setInt(4, t.getId());
+                    ps.addBatch();
+                }
+                int[] updated = ps.executeBatch();
+
+                PreparedStatement del = c.prepareCached(SQL_DELETE_TOKENS);
+                PreparedStatement ins = c.prepareCached(SQL_INSERT_TOKEN);
+                int i = 0;
+                for (ITask t : tasks) {
+                    if (updated[i++] == 0) continue; // no such task: nothing to index
+                    del.setInt(1, t.getId());
+                    del.addBatch();
+                    addTokens(ins, t.getId(), t);
+                }
+                del.executeBatch();
+                ins.executeBatch();
+                c.connection().commit();
+            } catch (SQLException e) {
+                c.connection().rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new TasksDAOException("updateTasks", e);
+        }
+    }
+
+    /**
+     * Deletes the tasks with the given IDs with a single JDBC batch in one transaction.
+     *
+     * @param ids task ids
+     * @throws TasksDAOException if SQL error occurs (the whole batch is rolled back)
+     */
+    @Override
+    public void deleteTasks(int[] ids) throws TasksDAOException {
+        if (ids.length == 0) return;
+        try (PooledConnection c = getConnection()) {
+            c.connection().setAutoCommit(false);
+            try {
+                PreparedStatement ps = c.prepareCached(SQL_DELETE);
+                for (int id : ids) {
+                    ps.setInt(1, id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                c.connection().commit();
+            } catch (SQLException e) {
+                c.connection().rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new TasksDAOException("deleteTasks", e);
+        }
+    }
 }
@@ -1,19 +1,75 @@
 package il.ac.hit.project.main.model.dao;
 
+import il.ac.hit.project.main.model.dao.cache.CacheStats;
+import il.ac.hit.project.main.model.dao.cache.IEvictionPolicy;
+import il.ac.hit.project.main.model.dao.cache.TaskCache;
+import il.ac.hit.project.main.model.dao.cache.UnboundedPolicy;
 import il.ac.hit.project.main.model.task.ITask;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * A proxy implementation of {@link ITasksDAO} that adds caching capabilities.
  * <p>
  * This class delegates all calls to a real DAO implementation (e.g., Derby or File-based DAO),
- * but caches tasks in memory to reduce database/file access. The cache is invalidated whenever
- * changes are made (add, update, delete).
+ * but caches tasks in memory to reduce database/file access. The cache is write-through:
+ * successful changes (add, update, delete) are applied to the cached entries in place,
+ * so once the whole table has been read the cache stays complete and reads never go back
+ * to the underlying DAO. If the underlying DAO reports an error, the cache is dropped and
+ * rebuilt on the next read.
+ * <p>
+ * The cache tracks two things explicitly:
+ * <ul>
+ *   <li>whether it is <em>complete</em> (holds every task). Only a full read –
+ *       {@link #getTasks()}, or a sequential page scan with {@link #getTasksAfter(int, int)}
+ *       from ID {@code 0} to the last (short) page – makes it complete. Single-row lookups
+ *       via {@link #getTask(int)} only add entries and never make a partial cache look complete.</li>
+ *   <li>a <em>generation</em> counter, bumped on every change of the cached contents. A read from
+ *       the underlying DAO only fills the cache if no change happened while it was running, and
+ *       the array returned by {@link #getTasks()} is rebuilt only when the generation moved.</li>
+ * </ul>
+ * <p>
+ * The size of the cache is bounded by an {@link IEvictionPolicy} (unbounded by default).
+ * Once an entry has been evicted or has expired the cache is no longer complete, and reads
+ * the cache cannot answer go to the underlying DAO again.
  */
 public class TasksDAOProxy implements ITasksDAO {
     private final ITasksDAO inner; // The real DAO being wrapped
-    private final ConcurrentHashMap<Integer, ITask> cache = new ConcurrentHashMap<>();
+    private final TaskCache cache; // ordered by id
+
+    /**
+     * Whether {@link #cache} holds every task of the underlying DAO.
+     */
+    private volatile boolean complete;
+
+    /**
+     * Incremented (under {@code this}) on every change of the cached contents.
+     */
+    private volatile long generation;
+
+    /**
+     * ID up to which a sequential page scan has copied tasks into the cache,
+     * or {@code -1} when no scan is in progress. Guarded by {@code this}.
+     */
+    private int scannedUpTo = -1;
+
+    /**
+     * Value of {@link TaskCache#removals()} when the cache became complete or the current
+     * page scan started. If the cache has evicted or expired anything since, it is not complete.
+     */
+    private volatile long removalsSeen;
+
+    /**
+     * Snapshot of the complete cache as an ID-ordered array, tagged with the generation it reflects.
+     */
+    private volatile Snapshot snapshot = new Snapshot(-1, new ITask[0]);
+
+    /**
+     * An immutable pairing of a cache generation and the tasks cached at that generation.
+     */
+    private record Snapshot(long generation, ITask[] tasks) {
+    }
 
     /**
      * Creates a new proxy wrapping the given DAO.
@@ -21,28 +77,93 @@ public class TasksDAOProxy implements ITasksDAO {
      * @param inner the real DAO implementation (Derby, File, etc.)
      */
     public TasksDAOProxy(ITasksDAO inner) {
+        this(inner, new UnboundedPolicy());
+    }
+
+    /**
+     * Creates a new proxy wrapping the given DAO, with a bounded cache.
+     *
+     * @param inner  the real DAO implementation (Derby, File, etc.)
+     * @param policy decides how many tasks the cache may hold and for how long
+     */
+    public TasksDAOProxy(ITasksDAO inner, IEvictionPolicy policy) {
         this.inner = inner;
+        this.cache = new TaskCache(policy);
+    }
+
+    /**
+     * @return hit, miss and eviction counters of the cache
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     /**
-     * Returns all tasks.
-     * If the cache is not empty, tasks are returned from the cache.
-     * Otherwise, loads from the underlying DAO and fills the cache.
+     * Returns all tasks, ordered by ID.
+     * If the cache is complete, a shared snapshot array is returned; it is rebuilt only
+     * after the cached contents changed. Otherwise, loads from the underlying DAO and fills the cache.
+     * <p>
+     * The returned array is shared between callers and must be treated as read-only.
      *
      * @return array of all tasks
      * @throws TasksDAOException if the underlying DAO fails
      */
     public ITask[] getTasks() throws TasksDAOException {
-        if (!cache.isEmpty()) return cache.values().toArray(new ITask[0]);
+        if (isComplete()) {
+            cache.recordHit();
+            return snapshot();
+        }
+        cache.recordMiss();
+        long gen = generation;
         ITask[] arr = inner.getTasks();
-        for (ITask t : arr) cache.put(t.getId(), t);
+        synchronized (this) {
+            if (gen == generation && !complete) { // nothing changed while we were reading
+                long removals = cache.removals();
+                cache.clear();
+                cache.putAll(arr);
+                complete = cache.removals() == removals; // false if the policy could not keep everything
+                removalsSeen = removals;
+                scannedUpTo = -1;
+                generation++;
+            }
+        }
+        return arr;
+    }
+
+    /**
+     * Returns whether the cache still holds every task: it was complete and nothing
+     * has been evicted or has expired since.
+     */
+    private boolean isComplete() {
+        if (!complete) return false;
+        cache.purgeExpired();
+        if (cache.removals() == removalsSeen) return true;
+        synchronized (this) {
+            if (complete && cache.removals() != removalsSeen) {
+                complete = false;
+                generation++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the snapshot array for the current generation, rebuilding it if it is stale.
+     */
+    private ITask[] snapshot() {
+        Snapshot s = snapshot;
+        long gen = generation;
+        if (s.generation() == gen) return s.tasks();
+        ITask[] arr = cache.toArray();
+        snapshot = new Snapshot(gen, arr); // a concurrent change makes it stale again, so it is rebuilt next time
         return arr;
     }
 
     /**
      * Returns a specific task by ID.
      * If found in cache, returns it directly.
-     * Otherwise, loads it from the underlying DAO and updates the cache.
+     * Otherwise, loads it from the underlying DAO and updates the cache
+     * (without affecting whether the cache is complete).
      *
      * @param id the ID of the task
      * @return the task, or {@code null} if not found
@@ -50,56 +171,297 @@ public class TasksDAOProxy implements ITasksDAO {
      */
     public ITask getTask(int id) throws TasksDAOException {
         ITask c = cache.get(id);
-        if (c != null) return c;
+        if (c != null || isComplete()) return c;
+        long gen = generation;
         ITask t = inner.getTask(id);
-        if (t != null) cache.put(id, t);
+        if (t != null) {
+            synchronized (this) {
+                if (gen == generation) {
+                    cache.put(t);
+                    generation++;
+                }
+            }
+        }
         return t;
     }
 
+    /**
+     * Returns one page of tasks after the given ID.
+     * If the cache is complete, the page is cut from the snapshot array by binary search.
+     * Otherwise it is read from the underlying DAO; pages of a sequential scan starting at
+     * ID {@code 0} are copied into the cache, and the final short page marks it complete.
+     * A change made while a page is being read interrupts the scan.
+     *
+     * @param lastId the ID after which the page starts (exclusive)
+     * @param limit  maximum number of tasks in the page
+     * @return the page of tasks
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public ITask[] getTasksAfter(int lastId, int limit) throws TasksDAOException {
+        if (limit <= 0) return new ITask[0];
+        if (isComplete()) {
+            cache.recordHit();
+            ITask[] all = snapshot();
+            int from = firstIndexAfter(all, lastId);
+            return Arrays.copyOfRange(all, from, Math.min(all.length, from + limit));
+        }
+        cache.recordMiss();
+        long gen = generation;
+        ITask[] page = inner.getTasksAfter(lastId, limit);
+        synchronized (this) {
+            if (complete) return page;
+            if (lastId == 0) { // a new scan from the start
+                scannedUpTo = 0;
+                removalsSeen = cache.removals();
+            }
+            if (gen != generation) {
+                scannedUpTo = -1; // the table changed under the scan; it cannot complete the cache
+            } else if (scannedUpTo >= 0 && lastId == scannedUpTo) {
+                cache.putAll(page);
+                if (cache.removals() != removalsSeen) {
+                    scannedUpTo = -1; // the policy evicted scanned tasks; the cache stays partial
+                } else if (page.length < limit) { // short page = end of table
+                    complete = true;
+                    scannedUpTo = -1;
+                } else {
+                    scannedUpTo = page[page.length - 1].getId();
+                }
+                generation++;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Binary search for the index of the first task whose ID is greater than {@code lastId}.
+     */
+    private static int firstIndexAfter(ITask[] byId, int lastId) {
+        int lo = 0, hi = byId.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byId[mid].getId() <= lastId) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Runs a query. When the cache is complete the query is evaluated in memory
+     * over the cache; otherwise it goes to the underlying DAO, so database-backed
+     * DAOs can filter, sort and page in SQL.
+     *
+     * @param q the query
+     * @return the matching tasks
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public ITask[] query(TaskQuery q) throws TasksDAOException {
+        if (isComplete()) {
+            cache.recordHit();
+            return ITasksDAO.super.query(q);
+        }
+        cache.recordMiss();
+        return inner.query(q);
+    }
+
+    /**
+     * Counts the tasks matching a query, in memory when the cache is complete
+     * and in the underlying DAO otherwise.
+     *
+     * @param q the query
+     * @return number of matching tasks
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public int count(TaskQuery q) throws TasksDAOException {
+        if (isComplete()) {
+            cache.recordHit();
+            return ITasksDAO.super.count(q);
+        }
+        cache.recordMiss();
+        return inner.count(q);
+    }
+
+    /**
+     * Searches titles and descriptions, in memory when the cache is complete and
+     * in the underlying DAO (which may use its token index) otherwise.
+     *
+     * @param query the search text
+     * @return the matching tasks ordered by ID
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public ITask[] search(String query) throws TasksDAOException {
+        if (isComplete()) {
+            cache.recordHit();
+            return ITasksDAO.super.search(query);
+        }
+        cache.recordMiss();
+        return inner.search(query);
+    }
+
     /**
      * Adds a new task.
-     * Delegates to the underlying DAO and clears the cache.
+     * Delegates to the underlying DAO and inserts the task, with its generated ID, into the cache.
      *
      * @param t the task to add
      * @throws TasksDAOException if the underlying DAO fails
      */
     public void addTask(ITask t) throws TasksDAOException {
-        inner.addTask(t);
-        cache.clear();
+        try {
+            inner.addTask(t);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        if (t.getId() > 0) put(t);
+        else invalidate(); // the DAO did not report the generated ID
     }
 
     /**
      * Updates an existing task.
-     * Delegates to the underlying DAO and clears the cache.
+     * Delegates to the underlying DAO and replaces the cached entry. An ID that is not
+     * cached is left alone: {@link ITasksDAO#updateTask(ITask)} ignores unknown IDs, so adding
+     * it would put a task into the cache that is not stored.
      *
      * @param t the task to update
      * @throws TasksDAOException if the underlying DAO fails
      */
     public void updateTask(ITask t) throws TasksDAOException {
-        inner.updateTask(t);
-        cache.clear();
+        try {
+            inner.updateTask(t);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            cache.replace(t);
+            generation++;
+        }
     }
 
     /**
      * Deletes all tasks.
-     * Delegates to the underlying DAO and clears the cache.
+     * Delegates to the underlying DAO; afterwards the (empty) cache is complete.
      *
      * @throws TasksDAOException if the underlying DAO fails
      */
     public void deleteTasks() throws TasksDAOException {
-        inner.deleteTasks();
-        cache.clear();
+        try {
+            inner.deleteTasks();
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            cache.clear();
+            complete = true;
+            removalsSeen = cache.removals();
+            scannedUpTo = -1;
+            generation++;
+        }
     }
 
     /**
      * Deletes a task by ID.
-     * Delegates to the underlying DAO and clears the cache.
+     * Delegates to the underlying DAO and removes the cached entry.
      *
      * @param id the ID of the task to delete
      * @throws TasksDAOException if the underlying DAO fails
      */
     public void deleteTask(int id) throws TasksDAOException {
-        inner.deleteTask(id);
+        try {
+            inner.deleteTask(id);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            cache.remove(id);
+            generation++;
+        }
+    }
+
+    /**
+     * Adds many tasks at once.
+     * Delegates to the underlying DAO's batch operation and inserts the new tasks into the cache.
+     *
+     * @param tasks the tasks to add
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        try {
+            inner.addTasks(tasks);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            for (ITask t : tasks) {
+                if (t.getId() <= 0) {
+                    invalidate(); // the DAO did not report a generated ID
+                    return;
+                }
+                cache.put(t);
+            }
+            generation++;
+        }
+    }
+
+    /**
+     * Updates many tasks at once.
+     * Delegates to the underlying DAO's batch operation and replaces the cached entries
+     * (IDs that are not cached are left alone, as in {@link #updateTask(ITask)}).
+     *
+     * @param tasks the tasks to update
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+        try {
+            inner.updateTasks(tasks);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            for (ITask t : tasks) cache.replace(t);
+            generation++;
+        }
+    }
+
+    /**
+     * Deletes many tasks by ID at once.
+     * Delegates to the underlying DAO's batch operation and removes the cached entries.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @throws TasksDAOException if the underlying DAO fails
+     */
+    public void deleteTasks(int[] ids) throws TasksDAOException {
+        try {
+            inner.deleteTasks(ids);
+        } catch (TasksDAOException e) {
+            invalidate();
+            throw e;
+        }
+        synchronized (this) {
+            for (int id : ids) cache.remove(id);
+            generation++;
+        }
+    }
+
+    /**
+     * Inserts or replaces one cached entry and bumps the generation.
+     */
+    private synchronized void put(ITask t) {
+        cache.put(t);
+        generation++;
+    }
+
+    /**
+     * Drops the cache after a failed write: the state of the underlying DAO is
+     * unknown, so the next read reloads it.
+     */
+    private synchronized void invalidate() {
         cache.clear();
+        complete = false;
+        scannedUpTo = -1;
+        generation++;
     }
 }
@@ -0,0 +1,56 @@
+package il.ac.hit.project.main.model.dao;
+
+/**
+ * Immutable configuration of the write-behind mode of {@link FileTasksDAO}.
+ * <p>
+ * In write-behind mode changes are applied to memory immediately and written to the file
+ * by a background thread, which coalesces a burst of changes into a single write.
+ * Values can be supplied directly or read from system properties via {@link #fromSystemProperties()}:
+ * <ul>
+ *   <li>{@code tasks.file.writeBehind} – enables write-behind (default {@code false})</li>
+ *   <li>{@code tasks.file.flushDelayMillis} – how long changes may wait before they are written (default 200)</li>
+ *   <li>{@code tasks.file.maxBatch} – number of pending changes that triggers an immediate write (default 256)</li>
+ *   <li>{@code tasks.file.fsync} – {@link FsyncPolicy} name (default {@code NONE})</li>
+ * </ul>
+ *
+ * @param enabled          whether changes are written in the background
+ * @param flushDelayMillis maximum delay between a change and the write that persists it
+ * @param maxBatch         pending changes that trigger a write before the delay expires
+ * @param fsync            when written data is forced to the disk ({@code null} for {@code NONE})
+ */
+public record WriteBehindConfig(boolean enabled, long flushDelayMillis, int maxBatch, FsyncPolicy fsync) {
+
+    /**
+     * Validates the configuration values.
+     *
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    public WriteBehindConfig {
+        if (flushDelayMillis < 0) throw new IllegalArgumentException("flushDelayMillis must be >= 0");
+        if (maxBatch < 1) throw new IllegalArgumentException("maxBatch must be >= 1");
+        if (fsync == null) fsync = FsyncPolicy.NONE; // the same default as synchronous() and the system properties
+    }
+
+    /**
+     * Returns the synchronous configuration: every change is written before the call returns.
+     *
+     * @return the configuration used by default
+     */
+    public static WriteBehindConfig synchronous() {
+        return new WriteBehindConfig(false, 200, 256, FsyncPolicy.NONE);
+    }
+
+    /**
+     * Builds a configuration from {@code tasks.file.*} system properties,
+     * falling back to defaults for every missing value.
+     *
+     * @return the resulting configuration
+     */
+    public static WriteBehindConfig fromSystemProperties() {
+        return new WriteBehindConfig(
+                Boolean.getBoolean("tasks.file.writeBehind"),
+                Long.getLong("tasks.file.flushDelayMillis", 200),
+                Integer.getInteger("tasks.file.maxBatch", 256),
+                FsyncPolicy.valueOf(System.getProperty("tasks.file.fsync", FsyncPolicy.NONE.name())));
+    }
+}
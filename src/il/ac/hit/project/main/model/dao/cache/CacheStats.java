@@ -0,0 +1,22 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+/**
+ * Point-in-time statistics of a {@link TaskCache}.
+ *
+ * @param hits        reads answered from the cache
+ * @param misses      reads that had to go to the underlying DAO
+ * @param evictions   entries removed because the policy's limit was exceeded
+ * @param expirations entries removed because they outlived the policy's time to live
+ * @param entries     number of tasks currently cached
+ * @param weight      total weight of the cached tasks (estimated bytes by default)
+ */
+public record CacheStats(long hits, long misses, long evictions, long expirations, int entries, long weight) {
+
+    /**
+     * @return the fraction of reads answered from the cache (0 if there were no reads)
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
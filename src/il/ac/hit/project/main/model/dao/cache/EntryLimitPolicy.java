@@ -0,0 +1,24 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+/**
+ * LRU eviction policy bounded by the number of cached tasks.
+ */
+public class EntryLimitPolicy implements IEvictionPolicy {
+    private final int maxEntries;
+
+    /**
+     * @param maxEntries maximum number of tasks kept in the cache (must be positive)
+     */
+    public EntryLimitPolicy(int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOverLimit(int entries, long totalWeight) {
+        return entries > maxEntries;
+    }
+}
@@ -0,0 +1,87 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+/**
+ * Strategy that decides how much a {@link TaskCache} may hold and when entries go stale.
+ * <p>
+ * When a policy reports the cache as over its limit, the cache evicts its least recently
+ * used entries until it is back within bounds. Implementations must be thread-safe
+ * (they are usually stateless).
+ * <ul>
+ *   <li>{@link UnboundedPolicy} – never evicts (the default).</li>
+ *   <li>{@link EntryLimitPolicy} – LRU bounded by the number of cached tasks.</li>
+ *   <li>{@link WeightLimitPolicy} – LRU bounded by the estimated size of titles and descriptions.</li>
+ *   <li>{@link TimeToLivePolicy} – entries expire a fixed time after they were cached.</li>
+ * </ul>
+ */
+public interface IEvictionPolicy {
+
+    /**
+     * Returns the weight of a task, used for {@link #isOverLimit(int, long)}.
+     * <p>
+     * The default is the estimated heap size of the task's title and description in bytes.
+     *
+     * @param task the task being cached
+     * @return the task's weight (non-negative)
+     */
+    default long weigh(ITask task) {
+        return estimateBytes(task);
+    }
+
+    /**
+     * Tells whether a cache with the given contents must evict entries.
+     *
+     * @param entries     number of cached tasks
+     * @param totalWeight sum of {@link #weigh(ITask)} over all cached tasks
+     * @return {@code true} if the least recently used entries must be evicted
+     */
+    boolean isOverLimit(int entries, long totalWeight);
+
+    /**
+     * Tells whether an entry is too old to be served.
+     *
+     * @param cachedAtNanos {@link System#nanoTime()} at which the entry was cached
+     * @param nowNanos      the current {@link System#nanoTime()}
+     * @return {@code true} if the entry has expired (never, by default)
+     */
+    default boolean isExpired(long cachedAtNanos, long nowNanos) {
+        return false;
+    }
+
+    /**
+     * Estimates the heap size of a task's strings: two bytes per character of
+     * title and description plus a fixed per-entry overhead.
+     *
+     * @param task the task
+     * @return estimated size in bytes
+     */
+    static long estimateBytes(ITask task) {
+        long chars = 0;
+        if (task.getTitle() != null) chars += task.getTitle().length();
+        if (task.getDescription() != null) chars += task.getDescription().length();
+        return 2 * chars + 96;
+    }
+
+    /**
+     * Builds a policy from {@code tasks.cache.*} system properties. The first property
+     * that is set wins:
+     * <ol>
+     *   <li>{@code tasks.cache.maxEntries} – {@link EntryLimitPolicy}</li>
+     *   <li>{@code tasks.cache.maxBytes} – {@link WeightLimitPolicy}</li>
+     *   <li>{@code tasks.cache.ttlMillis} – {@link TimeToLivePolicy}</li>
+     * </ol>
+     * Without any of them the cache is unbounded.
+     *
+     * @return the configured policy
+     */
+    static IEvictionPolicy fromSystemProperties() {
+        Integer maxEntries = Integer.getInteger("tasks.cache.maxEntries");
+        if (maxEntries != null) return new EntryLimitPolicy(maxEntries);
+        Long maxBytes = Long.getLong("tasks.cache.maxBytes");
+        if (maxBytes != null) return new WeightLimitPolicy(maxBytes);
+        Long ttl = Long.getLong("tasks.cache.ttlMillis");
+        if (ttl != null) return new TimeToLivePolicy(ttl);
+        return new UnboundedPolicy();
+    }
+}
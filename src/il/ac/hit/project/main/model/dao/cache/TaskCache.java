@@ -0,0 +1,301 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An ID-ordered in-memory task cache whose size is bounded by an {@link IEvictionPolicy}.
+ * <p>
+ * Reads are lock-free: an entry records its last access time in a volatile field, so
+ * concurrent readers never contend on a shared access-order list. Writes are serialized
+ * by a lock; when a write pushes the cache over the policy's limit, the least recently
+ * used entries are evicted in one batch (at least 1/32 of the cache), which keeps the
+ * cost of sorting by access time amortized over many writes.
+ * <p>
+ * Expired entries (see {@link IEvictionPolicy#isExpired(long, long)}) are never returned;
+ * they are dropped when read and by {@link #purgeExpired()}.
+ */
+public class TaskCache {
+    private final IEvictionPolicy policy;
+    private final ConcurrentSkipListMap<Integer, Entry> map = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock, volatile so stats() can read them without locking.
+    private volatile int entries;
+    private volatile long weight;
+    private volatile long oldestCachedAt = Long.MAX_VALUE; // lower bound of Entry.cachedAt over all entries
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * A cached task with its bookkeeping.
+     */
+    private static final class Entry {
+        final ITask task;
+        final long weight;
+        final long cachedAt;
+        volatile long lastAccess;
+
+        Entry(ITask task, long weight, long now) {
+            this.task = task;
+            this.weight = weight;
+            this.cachedAt = now;
+            this.lastAccess = now;
+        }
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param policy the eviction policy
+     */
+    public TaskCache(IEvictionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Returns a cached task and marks it as recently used. Counts a hit or a miss.
+     *
+     * @param id the ID of the task
+     * @return the task, or {@code null} if it is not cached (or has expired)
+     */
+    public ITask get(int id) {
+        Entry e = map.get(id);
+        if (e != null) {
+            long now = System.nanoTime();
+            if (!policy.isExpired(e.cachedAt, now)) {
+                e.lastAccess = now;
+                hits.increment();
+                return e.task;
+            }
+            expire(id, e);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Inserts or replaces a task, evicting least recently used entries if the
+     * policy's limit is exceeded.
+     *
+     * @param t the task (keyed by its ID)
+     */
+    public void put(ITask t) {
+        writeLock.lock();
+        try {
+            insert(t, System.nanoTime());
+            evictIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces a task only if an entry with its ID is cached, e.g. after an update that
+     * the data source ignores for unknown IDs.
+     *
+     * @param t the new version of the task
+     * @return {@code true} if the entry was replaced
+     */
+    public boolean replace(ITask t) {
+        writeLock.lock();
+        try {
+            if (!map.containsKey(t.getId())) return false;
+            insert(t, System.nanoTime());
+            evictIfNeeded();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces many tasks, evicting once at the end if needed.
+     *
+     * @param tasks the tasks (keyed by their IDs)
+     */
+    public void putAll(ITask[] tasks) {
+        writeLock.lock();
+        try {
+            long now = System.nanoTime();
+            for (ITask t : tasks) {
+                insert(t, now);
+                if (policy.isOverLimit(entries, weight)) evictIfNeeded();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a task from the cache.
+     *
+     * @param id the ID of the task
+     */
+    public void remove(int id) {
+        writeLock.lock();
+        try {
+            Entry old = map.remove(id);
+            if (old != null) unaccount(old);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all tasks. Statistics counters are kept.
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            map.clear();
+            entries = 0;
+            weight = 0;
+            oldestCachedAt = Long.MAX_VALUE;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every expired entry. Cheap when nothing can have expired yet.
+     *
+     * @return {@code true} if at least one entry was removed
+     */
+    public boolean purgeExpired() {
+        long now = System.nanoTime();
+        long oldest = oldestCachedAt;
+        if (oldest == Long.MAX_VALUE || !policy.isExpired(oldest, now)) return false;
+        writeLock.lock();
+        try {
+            boolean removed = false;
+            long newOldest = Long.MAX_VALUE;
+            for (Iterator<Entry> it = map.values().iterator(); it.hasNext(); ) {
+                Entry e = it.next();
+                if (policy.isExpired(e.cachedAt, now)) {
+                    it.remove();
+                    unaccount(e);
+                    expirations.increment();
+                    removed = true;
+                } else {
+                    newOldest = Math.min(newOldest, e.cachedAt);
+                }
+            }
+            oldestCachedAt = newOldest;
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the cached tasks as a new array, ordered by ID
+     */
+    public ITask[] toArray() {
+        List<ITask> out = new ArrayList<>(entries);
+        for (Entry e : map.values()) out.add(e.task);
+        return out.toArray(new ITask[0]);
+    }
+
+    /**
+     * @return the number of cached tasks
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * @return the number of entries removed so far by eviction or expiry
+     */
+    public long removals() {
+        return evictions.sum() + expirations.sum();
+    }
+
+    /**
+     * Counts a read that was answered from the cache without going through {@link #get(int)}
+     * (for example a full listing served from a snapshot).
+     */
+    public void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Counts a read that had to go to the underlying DAO.
+     */
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries, weight);
+    }
+
+    /**
+     * Inserts an entry and updates the size accounting. Caller holds {@link #writeLock}.
+     */
+    private void insert(ITask t, long now) {
+        Entry e = new Entry(t, policy.weigh(t), now);
+        Entry old = map.put(t.getId(), e);
+        if (old != null) unaccount(old);
+        entries++;
+        weight += e.weight;
+        if (now < oldestCachedAt) oldestCachedAt = now;
+    }
+
+    /**
+     * Updates the size accounting for a removed entry. Caller holds {@link #writeLock}.
+     */
+    private void unaccount(Entry e) {
+        entries--;
+        weight -= e.weight;
+    }
+
+    /**
+     * Removes an expired entry found by a reader, unless it was replaced meanwhile.
+     */
+    private void expire(int id, Entry e) {
+        writeLock.lock();
+        try {
+            if (map.remove(id, e)) {
+                unaccount(e);
+                expirations.increment();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts least recently used entries while the policy reports the cache as over its limit,
+     * and at least {@code entries / 32} of them, so the next writes do not trigger another pass.
+     * Caller holds {@link #writeLock}.
+     */
+    private void evictIfNeeded() {
+        if (!policy.isOverLimit(entries, weight)) return;
+        List<Entry> byAge = new ArrayList<>(map.values());
+        byAge.sort(Comparator.comparingLong(e -> e.lastAccess));
+        int batch = Math.max(1, entries / 32);
+        int removed = 0;
+        for (Entry e : byAge) {
+            if (removed >= batch && !policy.isOverLimit(entries, weight)) break;
+            if (map.remove(e.task.getId(), e)) {
+                unaccount(e);
+                evictions.increment();
+                removed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eviction policy under which entries expire a fixed time after they were cached,
+ * bounding how stale a cached task can get when other processes change the data.
+ * The number of entries is not limited.
+ */
+public class TimeToLivePolicy implements IEvictionPolicy {
+    private final long ttlNanos;
+
+    /**
+     * @param ttlMillis time to live of a cached entry in milliseconds (must be positive)
+     */
+    public TimeToLivePolicy(long ttlMillis) {
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttlMillis must be positive");
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return always {@code false}
+     */
+    @Override
+    public boolean isOverLimit(int entries, long totalWeight) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isExpired(long cachedAtNanos, long nowNanos) {
+        return nowNanos - cachedAtNanos >= ttlNanos;
+    }
+}
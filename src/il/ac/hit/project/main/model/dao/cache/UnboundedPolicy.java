@@ -0,0 +1,17 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+/**
+ * Eviction policy that never evicts: the cache may grow to hold every task.
+ */
+public class UnboundedPolicy implements IEvictionPolicy {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return always {@code false}
+     */
+    @Override
+    public boolean isOverLimit(int entries, long totalWeight) {
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package il.ac.hit.project.main.model.dao.cache;
+
+/**
+ * LRU eviction policy bounded by the estimated memory taken by task titles and
+ * descriptions (see {@link IEvictionPolicy#estimateBytes}), so a few huge
+ * descriptions cannot push the cache past its budget.
+ */
+public class WeightLimitPolicy implements IEvictionPolicy {
+    private final long maxBytes;
+
+    /**
+     * @param maxBytes memory budget of the cache in bytes (must be positive)
+     */
+    public WeightLimitPolicy(long maxBytes) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOverLimit(int entries, long totalWeight) {
+        return totalWeight > maxBytes;
+    }
+}
@@ -5,8 +5,8 @@ import il.ac.hit.project.main.model.task.ITask;
 /**
  * A {@link ReportTask} record that represents a completed task.
  * <p>
- * This wrapper is used by the {@link ReportVisitor} to distinguish between task states
- * (ToDo, InProgress, Completed) when building reports and statistics.
+ * This wrapper is used to distinguish between task states
+ * (ToDo, InProgress, Completed) when report rows are rendered.
  *
  * @param t the underlying {@link ITask} instance that is marked as completed
  */
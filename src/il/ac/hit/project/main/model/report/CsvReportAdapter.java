@@ -2,14 +2,18 @@ package il.ac.hit.project.main.model.report;
 
 import il.ac.hit.project.main.model.task.ITask;
 
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 
 /**
  * Adapter that exports a {@link ReportData} object into a CSV file.
  * <p>
  * Implements the {@link IReportExporter} interface, converting report
  * information into a comma-separated values format that can be opened
- * with Excel or other spreadsheet tools.
+ * with Excel or other spreadsheet tools. Rows are written by a
+ * {@link CsvTaskWriter} (UTF-8, RFC 4180 quoting, buffered).
+ * For exports that should not hold every task in memory, see {@link StreamingCsvExporter}.
  */
 public class CsvReportAdapter implements IReportExporter {
 
@@ -18,39 +22,17 @@ public class CsvReportAdapter implements IReportExporter {
      *
      * @param data the report data containing all tasks and their statistics
      * @param path the file system path where the CSV should be written
+     * @throws UncheckedIOException if the file cannot be written
      */
     @Override
     public void export(ReportData data, String path) {
-        try (FileWriter fw = new FileWriter(path)) {
-            // Write CSV header
-            fw.write("Title,Description,State\n");
-
-            // Write each task as a line in the CSV file
+        try (CsvTaskWriter w = new CsvTaskWriter(Path.of(path))) {
+            // Write each task as a line in the CSV file (the header is written by CsvTaskWriter)
             for (ITask t : data.all()) {
-                fw.write(
-                        esc(t.getTitle()) + "," +
-                                esc(t.getDescription()) + "," +
-                                esc(t.getState().display()) + "\n"
-                );
+                w.write(t);
             }
-        } catch (Exception e) {
-            // Print error if writing fails
-            e.printStackTrace();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot export to " + path, e);
         }
     }
-
-    /**
-     * Escapes text values so they are safe to write into a CSV file.
-     * <ul>
-     *     <li>Replaces line breaks with spaces.</li>
-     *     <li>Replaces commas with semicolons to avoid breaking columns.</li>
-     * </ul>
-     *
-     * @param s the input string
-     * @return the escaped version, or empty string if {@code null}
-     */
-    private String esc(String s) {
-        if (s == null) return "";
-        return s.replace("\n", " ").replace(",", ";");
-    }
 }
@@ -0,0 +1,94 @@
+package il.ac.hit.project.main.model.report;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes tasks as CSV rows (RFC 4180) to a file, one row at a time.
+ * <p>
+ * Output is UTF-8, written through a {@link FileChannel} with large character and byte
+ * buffers, so a row costs no system call of its own. Fields containing a comma, a double
+ * quote or a line break are enclosed in double quotes, with embedded quotes doubled;
+ * records end with CRLF. Nothing is kept per row, so any number of rows can be written
+ * in constant memory.
+ */
+public class CsvTaskWriter implements AutoCloseable {
+
+    private static final int BUFFER = 1 << 18; // 256 KiB
+
+    private final Writer out;
+
+    /**
+     * Creates (or truncates) the file and writes the header row.
+     *
+     * @param path the target file
+     * @throws IOException if the file cannot be opened or written
+     */
+    public CsvTaskWriter(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.out = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), BUFFER), BUFFER / 4);
+        out.write("Title,Description,State\r\n");
+    }
+
+    /**
+     * Writes one task as a row: title, description and state.
+     *
+     * @param t the task
+     * @throws IOException if writing fails
+     */
+    public void write(ITask t) throws IOException {
+        field(t.getTitle());
+        out.write(',');
+        field(t.getDescription());
+        out.write(',');
+        field(t.getState().display());
+        out.write("\r\n");
+    }
+
+    /**
+     * Flushes the buffers and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Writes a field, quoted only if it contains a separator, a quote or a line break.
+     */
+    private void field(String s) throws IOException {
+        if (s == null) return;
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(s);
+            return;
+        }
+        out.write('"');
+        int from = 0;
+        for (int i = s.indexOf('"'); i >= 0; i = s.indexOf('"', i + 1)) {
+            out.write(s, from, i + 1 - from); // up to and including the quote...
+            out.write('"');                   // ...which is doubled
+            from = i + 1;
+        }
+        out.write(s, from, s.length() - from);
+        out.write('"');
+    }
+}
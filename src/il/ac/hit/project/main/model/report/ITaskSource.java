@@ -0,0 +1,34 @@
+package il.ac.hit.project.main.model.report;
+
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.Iterator;
+
+/**
+ * A forward-only source of tasks for streaming exports ({@link StreamingCsvExporter}).
+ * <p>
+ * Unlike an {@link Iterator}, a source may fetch its tasks from a DAO, page by page,
+ * and report failures as {@link TasksDAOException}.
+ */
+@FunctionalInterface
+public interface ITaskSource {
+
+    /**
+     * Returns the next task.
+     *
+     * @return the next task, or {@code null} when there are no more tasks
+     * @throws TasksDAOException if fetching the next task fails
+     */
+    ITask next() throws TasksDAOException;
+
+    /**
+     * Adapts an iterator (e.g. over an in-memory list) to a source.
+     *
+     * @param it the iterator
+     * @return a source returning the iterator's tasks
+     */
+    static ITaskSource of(Iterator<? extends ITask> it) {
+        return () -> it.hasNext() ? it.next() : null;
+    }
+}
@@ -7,7 +7,7 @@ import il.ac.hit.project.main.model.task.ITask;
  * in the reporting subsystem.
  * <p>
  * Implements the {@link ReportTask} marker interface so it can be
- * processed by the {@link ReportVisitor}.
+ * matched by type when report rows are rendered.
  *
  * <p>Each instance wraps a single {@link ITask}.</p>
  *
@@ -0,0 +1,175 @@
+package il.ac.hit.project.main.model.report;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds reports over large task lists on a {@link ForkJoinPool}.
+ * <p>
+ * The list is split in halves until the parts are small, each part is visited by its own
+ * {@link ReportVisitor}, and the visitors are merged back left to right, so the report is
+ * exactly the one a single sequential visitor would build, whatever the number of threads.
+ * Lists below the split threshold are visited on the calling thread. {@link #report(List)} and
+ * {@link #counts(List)} block the caller until the report is built; a UI thread should use
+ * {@link #reportAsync(List)} instead.
+ * <p>
+ * An aggregator created with a thread count owns its pool and shuts it down on {@link #close()};
+ * one created over a given pool leaves it to the caller. The number of threads of {@link #shared()}
+ * is read from the system property {@value #PARALLELISM_PROPERTY}; without it the common pool is
+ * used. The shared aggregator lives as long as the application and is never closed (pool threads
+ * are daemon threads, so it does not keep the JVM running).
+ */
+public final class ParallelReport implements AutoCloseable {
+
+    /**
+     * System property with the number of threads used by {@link #shared()}.
+     */
+    public static final String PARALLELISM_PROPERTY = "tasks.report.parallelism";
+
+    /**
+     * Tasks visited by one fork/join leaf.
+     */
+    static final int THRESHOLD = 16_384;
+
+    private static volatile ParallelReport shared;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Whether {@link #pool} was created by this aggregator and is shut down by {@link #close()}.
+     */
+    private final boolean ownsPool;
+
+    /**
+     * Creates an aggregator running on the given pool; the caller keeps ownership of the pool.
+     *
+     * @param pool the pool running the parts
+     */
+    public ParallelReport(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    /**
+     * Creates an aggregator with its own pool of {@code parallelism} threads,
+     * shut down by {@link #close()}.
+     *
+     * @param parallelism the number of threads (at least 1)
+     */
+    public ParallelReport(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    private ParallelReport(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Returns the aggregator shared by the application, sized by {@value #PARALLELISM_PROPERTY}.
+     *
+     * @return the shared aggregator
+     */
+    public static ParallelReport shared() {
+        ParallelReport r = shared;
+        if (r == null) {
+            synchronized (ParallelReport.class) {
+                r = shared;
+                if (r == null) {
+                    Integer n = Integer.getInteger(PARALLELISM_PROPERTY);
+                    r = shared = n == null || n < 1 ? new ParallelReport(ForkJoinPool.commonPool()) : new ParallelReport(n);
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * @return the number of threads reports run on
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Builds a full report over {@code tasks}, listing them in their order.
+     *
+     * @param tasks the tasks to report on
+     * @return the report
+     */
+    public ReportData report(List<? extends ITask> tasks) {
+        return run(tasks, false).build();
+    }
+
+    /**
+     * Builds a full report over {@code tasks} on the pool, so the calling thread never visits a task.
+     *
+     * @param tasks the tasks to report on; must not change until the report is done
+     * @return completes with the report, on a pool thread
+     */
+    public CompletableFuture<ReportData> reportAsync(List<? extends ITask> tasks) {
+        return CompletableFuture.supplyAsync(() -> report(tasks), pool);
+    }
+
+    /**
+     * Builds a counts-only report over {@code tasks}.
+     *
+     * @param tasks the tasks to count
+     * @return the report, with an empty task list
+     */
+    public ReportData counts(List<? extends ITask> tasks) {
+        return run(tasks, true).build();
+    }
+
+    private ReportVisitor run(List<? extends ITask> tasks, boolean countsOnly) {
+        List<? extends ITask> list = tasks instanceof RandomAccess ? tasks : new ArrayList<>(tasks);
+        Part root = new Part(list, 0, list.size(), countsOnly);
+        return list.size() <= THRESHOLD ? root.compute() : pool.invoke(root);
+    }
+
+    /**
+     * Shuts down the pool if this aggregator created it; reports already running still finish.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    /**
+     * Visits the tasks {@code from..to-1}, splitting the range while it is large.
+     */
+    private static final class Part extends RecursiveTask<ReportVisitor> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<? extends ITask> tasks; // parts are never serialized
+        private final int from;
+        private final int to;
+        private final boolean countsOnly;
+
+        Part(List<? extends ITask> tasks, int from, int to, boolean countsOnly) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+            this.countsOnly = countsOnly;
+        }
+
+        @Override
+        protected ReportVisitor compute() {
+            if (to - from <= THRESHOLD) {
+                ReportVisitor v = countsOnly ? ReportVisitor.countsOnly() : new ReportVisitor(to - from);
+                for (int i = from; i < to; i++) v.visit(tasks.get(i));
+                return v;
+            }
+            int mid = (from + to) >>> 1;
+            Part right = new Part(tasks, mid, to, countsOnly);
+            right.fork();
+            ReportVisitor left = new Part(tasks, from, mid, countsOnly).compute();
+            return left.merge(right.join());
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class ReportData {
     private final long todo;             // Number of tasks in "ToDo" state
     private final long inProgress;       // Number of tasks in "InProgress" state
     private final long completed;        // Number of tasks in "Completed" state
+    private final long total;            // Number of tasks counted (may exceed all.size())
 
     /**
      * Constructs a new {@code ReportData} instance with the given statistics.
@@ -31,10 +32,25 @@ public class ReportData {
      * @param completed  number of tasks in "Completed" state
      */
     public ReportData(List<ITask> all, long todo, long inProgress, long completed) {
+        this(all, todo, inProgress, completed, all == null ? 0 : all.size());
+    }
+
+    /**
+     * Constructs a new {@code ReportData} instance with an explicit total,
+     * for reports that count more tasks than they list (e.g. counts-only reports).
+     *
+     * @param all        list of the tasks included in the report (may be empty)
+     * @param todo       number of tasks in "ToDo" state
+     * @param inProgress number of tasks in "InProgress" state
+     * @param completed  number of tasks in "Completed" state
+     * @param total      total number of tasks counted
+     */
+    public ReportData(List<ITask> all, long todo, long inProgress, long completed, long total) {
         this.all = all;
         this.todo = todo;
         this.inProgress = inProgress;
         this.completed = completed;
+        this.total = total;
     }
 
     /**
@@ -69,6 +85,6 @@ public class ReportData {
      * @return the total number of tasks included in the report
      */
     public long total() {
-        return all == null ? 0 : all.size();
+        return total;
     }
 }
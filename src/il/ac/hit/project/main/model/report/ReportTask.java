@@ -1,5 +1,7 @@
 package il.ac.hit.project.main.model.report;
 
+import il.ac.hit.project.main.model.task.ITask;
+
 /**
  * A sealed interface that represents a "report task wrapper".
  * <p>
@@ -15,9 +17,24 @@ package il.ac.hit.project.main.model.report;
  * are allowed to implement it. This ensures compile-time safety: no other
  * types outside of these can represent a report task.</p>
  *
- * <p>Usage: {@code ReportVisitor} creates instances of these wrappers when
- * traversing tasks, and then pattern matching can be applied on them to
- * generate statistics or output.</p>
+ * <p>Usage: {@link #of(ITask)} wraps a task according to its state, and then
+ * pattern matching can be applied on the wrapper to generate output, as the report
+ * preview does for the rows it displays. ({@link ReportVisitor} counts states directly,
+ * so building a report allocates no wrappers.)</p>
  */
 public sealed interface ReportTask permits ToDoTask, InProgressTask, CompletedTask {
+
+    /**
+     * Wraps a task in the record matching its state.
+     *
+     * @param task the task to classify
+     * @return the wrapper
+     */
+    static ReportTask of(ITask task) {
+        return switch (task.getState()) {
+            case ToDo -> new ToDoTask(task);
+            case InProgress -> new InProgressTask(task);
+            case Completed -> new CompletedTask(task);
+        };
+    }
 }
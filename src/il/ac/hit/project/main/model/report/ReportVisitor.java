@@ -3,20 +3,29 @@ package il.ac.hit.project.main.model.report;
 import il.ac.hit.project.main.model.task.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collector;
 
 /**
  * A concrete implementation of the Visitor pattern that collects tasks
  * and produces aggregated report statistics.
  * <p>
- * The {@code ReportVisitor} traverses over {@link ITask} objects, wraps each
- * one in a {@link ReportTask} (according to its {@link TaskState}), and then
- * builds a {@link ReportData} object containing:
+ * The {@code ReportVisitor} traverses over {@link ITask} objects, counts each
+ * one by its {@link TaskState}, and then builds a {@link ReportData} object containing:
  * <ul>
- *   <li>The full list of tasks.</li>
+ *   <li>The full list of tasks (unless created with {@link #countsOnly()}).</li>
  *   <li>The number of tasks in {@code ToDo}, {@code InProgress}, and {@code Completed} states.</li>
  *   <li>The total number of tasks.</li>
  * </ul>
+ * Counting happens while visiting, in primitive counters, and tasks are kept in a single
+ * list, so a report costs one pass and no allocation per task. A counts-only visitor keeps
+ * no task references at all.
+ * <p>
+ * Visitors are mergeable ({@link #merge(ReportVisitor)}), so a large task list can be
+ * split, visited in parts on several threads and combined, either with a stream
+ * ({@link #collector()}) or on a fork/join pool ({@link ParallelReport}). Merging keeps
+ * the tasks in the order of the parts, so the result does not depend on the thread count.
  *
  * <p>Usage example:</p>
  * <pre>{@code
@@ -30,56 +39,107 @@ import java.util.List;
 public class ReportVisitor {
 
     /**
-     * A bucket of wrapped tasks, each represented as a {@link ReportTask}.
+     * The visited tasks in visiting order, or {@code null} for a counts-only visitor.
+     */
+    private final List<ITask> tasks;
+
+    private long todo;
+    private long inProgress;
+    private long completed;
+
+    /**
+     * Creates a visitor that keeps the visited tasks.
      */
-    private final List<ReportTask> bucket = new ArrayList<>();
+    public ReportVisitor() {
+        this(10);
+    }
 
     /**
-     * Visits a single {@link ITask}, wrapping it in a {@link ReportTask}
-     * based on its {@link TaskState}, and storing it in the bucket.
+     * Creates a visitor that keeps the visited tasks, sized for the expected number of them.
      *
-     * @param task the task to visit and classify
+     * @param expected how many tasks will be visited (a hint)
      */
-    public void visit(ITask task) {
-        bucket.add(switch (task.getState()) {
-            case ToDo -> new ToDoTask(task);
-            case InProgress -> new InProgressTask(task);
-            case Completed -> new CompletedTask(task);
-        });
+    public ReportVisitor(int expected) {
+        this(new ArrayList<>(Math.max(0, expected)));
+    }
+
+    private ReportVisitor(List<ITask> tasks) {
+        this.tasks = tasks;
     }
 
     /**
-     * Builds a {@link ReportData} instance by:
-     * <ol>
-     *   <li>Counting tasks by their state (ToDo, InProgress, Completed).</li>
-     *   <li>Reconstructing the original {@link ITask} list.</li>
-     *   <li>Packaging the counts and task list into a {@code ReportData} object.</li>
-     * </ol>
+     * Creates a visitor that only counts; its report has an empty task list.
      *
-     * @return a {@link ReportData} object containing all tasks and statistics
+     * @return a new counts-only visitor
      */
-    public ReportData build() {
-        long todo = 0, inprog = 0, completed = 0;
+    public static ReportVisitor countsOnly() {
+        return new ReportVisitor((List<ITask>) null);
+    }
 
-        // Count tasks by type using pattern matching on ReportTask records
-        for (ReportTask rt : bucket) {
-            switch (rt) {
-                case ToDoTask __ -> todo++;
-                case InProgressTask __ -> inprog++;
-                case CompletedTask __ -> completed++;
-            }
+    /**
+     * Visits a single {@link ITask}: counts it under its {@link TaskState}
+     * and, unless counting only, keeps it for the report.
+     *
+     * @param task the task to visit and classify
+     */
+    public void visit(ITask task) {
+        switch (task.getState()) {
+            case ToDo -> todo++;
+            case InProgress -> inProgress++;
+            case Completed -> completed++;
         }
+        if (tasks != null) tasks.add(task);
+    }
 
-        // Reconstruct original ITask objects
-        List<ITask> all = new ArrayList<>();
-        for (ReportTask rt : bucket) {
-            switch (rt) {
-                case ToDoTask(var t) -> all.add(t);
-                case InProgressTask(var t) -> all.add(t);
-                case CompletedTask(var t) -> all.add(t);
-            }
+    /**
+     * Adds everything {@code other} has visited to this visitor, as if its tasks
+     * had been visited by this one after its own.
+     *
+     * @param other a visitor of the tasks that follow this visitor's tasks
+     * @return this visitor
+     * @throws IllegalArgumentException if this visitor keeps tasks and {@code other} only counts
+     */
+    public ReportVisitor merge(ReportVisitor other) {
+        if (tasks != null) {
+            if (other.tasks == null) throw new IllegalArgumentException("cannot merge a counts-only visitor into a listing one");
+            tasks.addAll(other.tasks);
         }
+        todo += other.todo;
+        inProgress += other.inProgress;
+        completed += other.completed;
+        return this;
+    }
+
+    /**
+     * Returns a collector building a full report; it may be used with parallel streams.
+     *
+     * @return the collector
+     */
+    public static Collector<ITask, ReportVisitor, ReportData> collector() {
+        return Collector.of(ReportVisitor::new, ReportVisitor::visit, ReportVisitor::merge, ReportVisitor::build);
+    }
 
-        return new ReportData(all, todo, inprog, completed);
+    /**
+     * Returns a collector building a counts-only report; it may be used with parallel streams.
+     *
+     * @return the collector
+     */
+    public static Collector<ITask, ReportVisitor, ReportData> countingCollector() {
+        return Collector.of(ReportVisitor::countsOnly, ReportVisitor::visit, ReportVisitor::merge, ReportVisitor::build,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Builds a {@link ReportData} instance from the counts gathered so far
+     * and the visited tasks (in visiting order).
+     * <p>
+     * The task list of the report is a read-only view of the visitor's list (no copy),
+     * so the visitor should not be visited again after building.
+     *
+     * @return a {@link ReportData} object containing all tasks and statistics
+     */
+    public ReportData build() {
+        List<ITask> all = tasks == null ? Collections.emptyList() : Collections.unmodifiableList(tasks);
+        return new ReportData(all, todo, inProgress, completed, todo + inProgress + completed);
     }
 }
@@ -0,0 +1,76 @@
+package il.ac.hit.project.main.model.report;
+
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Exports tasks to CSV as they are pulled from an {@link ITaskSource}, in constant memory.
+ * <p>
+ * Unlike {@link CsvReportAdapter}, which needs a {@link ReportData} holding every task,
+ * this exporter never keeps more than the task being written (plus whatever page its source
+ * fetched), so even multi-gigabyte exports do not grow the heap. Rows are written with a
+ * {@link CsvTaskWriter} into a temporary file next to the target, which replaces the target
+ * only once the export completed; a failed or cancelled export leaves the target untouched.
+ * <pre>{@code
+ * TaskCursor cur = dao.openCursor(1_000);
+ * long rows = new StreamingCsvExporter().export(
+ *         () -> cur.hasNext() ? cur.next() : null, Path.of("tasks.csv"),
+ *         n -> System.out.println(n + " rows"), () -> false);
+ * }</pre>
+ */
+public class StreamingCsvExporter {
+
+    /**
+     * Progress is reported every this many rows (and once at the end).
+     */
+    private static final int PROGRESS_EVERY = 1_024;
+
+    /**
+     * Exports every task of {@code source} to {@code target}.
+     *
+     * @param source    the tasks to export, in output order
+     * @param target    the CSV file to create or replace
+     * @param progress  receives the number of rows written so far, on the exporting thread
+     * @param cancelled polled between rows; once it returns {@code true} the export stops
+     * @return the number of exported tasks
+     * @throws IOException           if the file cannot be written
+     * @throws TasksDAOException     if the source fails
+     * @throws CancellationException if the export was cancelled
+     */
+    public long export(ITaskSource source, Path target, LongConsumer progress, BooleanSupplier cancelled)
+            throws IOException, TasksDAOException {
+        Path abs = target.toAbsolutePath();
+        Path tmp = Files.createTempFile(abs.getParent(), abs.getFileName().toString(), ".part");
+        long rows = 0;
+        try {
+            try (CsvTaskWriter w = new CsvTaskWriter(tmp)) {
+                for (ITask t = source.next(); t != null; t = source.next()) {
+                    w.write(t);
+                    if (++rows % PROGRESS_EVERY == 0) {
+                        if (cancelled.getAsBoolean()) throw new CancellationException("export cancelled");
+                        progress.accept(rows);
+                    }
+                }
+            }
+            if (cancelled.getAsBoolean()) throw new CancellationException("export cancelled");
+            try {
+                Files.move(tmp, abs, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, abs, StandardCopyOption.REPLACE_EXISTING);
+            }
+            progress.accept(rows);
+            return rows;
+        } finally {
+            Files.deleteIfExists(tmp); // only still there if the export did not complete
+        }
+    }
+}
@@ -7,8 +7,7 @@ import il.ac.hit.project.main.model.task.ITask;
  * <p>
  * This record is part of the sealed hierarchy {@link ReportTask}, which classifies tasks
  * according to their {@link il.ac.hit.project.main.model.task.TaskState}.
- * It is used by the {@link ReportVisitor} to group and analyze tasks by state
- * when building a {@link ReportData}.
+ * It is used to tell the rows of a {@link ReportData} apart by state when they are rendered.
  *
  * <p>Each instance wraps a single {@link ITask}.</p>
  *
@@ -1,23 +1,35 @@
 package il.ac.hit.project.main.view;
 
-import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.dao.TaskQuery;
 import il.ac.hit.project.main.model.task.*;
+import il.ac.hit.project.main.viewmodel.LazyTaskList;
 import il.ac.hit.project.main.viewmodel.TasksViewModel;
-import il.ac.hit.project.main.viewmodel.combinator.TaskFilters;
 import il.ac.hit.project.main.viewmodel.strategy.*;
-import il.ac.hit.project.main.model.report.ReportVisitor;
-import il.ac.hit.project.main.model.report.ReportData;
+import il.ac.hit.project.main.model.report.*;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main Swing window (View) of the Tasks Management application.
  * <p>
  * Displays and manipulates tasks via {@link TasksViewModel} (MVVM): the view only
  * wires user actions (buttons, filters, sorting) to the ViewModel and observes updates.
- * Also generates a textual report using the Visitor-based reporting pipeline.
+ * Also shows a report of the visible tasks, and their counts in a status bar, from the
+ * view model's live statistics.
+ * <p>
+ * Loading and changes use the ViewModel's asynchronous API, so the window stays
+ * responsive during database work; a progress bar is shown while tasks load.
+ * <p>
+ * With {@code -Dtasks.ui.lazy=true} the table runs in lazy mode: instead of loading every
+ * task, it shows a {@link LazyTaskList} whose rows are fetched from the DAO as they scroll
+ * into view, and sorting, filtering, "Delete All" and CSV export are evaluated by the DAO;
+ * the report is built from the DAO off the EDT.
  */
 public class MainFrame extends JFrame {
 
@@ -36,6 +48,31 @@ public class MainFrame extends JFrame {
      */
     private final JTable table = new JTable(model);
 
+    /**
+     * Indeterminate progress bar shown while the ViewModel is loading.
+     */
+    private final JProgressBar progress = new JProgressBar();
+
+    /**
+     * Status bar with the live counts of the visible tasks.
+     */
+    private final JLabel status = new JLabel(" ");
+
+    /**
+     * Whether the table shows a {@link LazyTaskList} instead of the view model's loaded tasks.
+     */
+    private static final boolean LAZY = Boolean.getBoolean("tasks.ui.lazy");
+
+    /**
+     * Row source of the table in lazy mode, {@code null} otherwise.
+     */
+    private transient LazyTaskList lazy;
+
+    /**
+     * Filter and ordering of the lazy rows (sort, state and title from the toolbar).
+     */
+    private transient TaskQuery lazyQuery = TaskQuery.all();
+
     /**
      * Constructs the main window, builds the toolbar and table,
      * wires all actions, and issues the initial {@code vm.load()}.
@@ -130,8 +167,19 @@ public class MainFrame extends JFrame {
         // Center: the table
         add(new JScrollPane(table), BorderLayout.CENTER);
 
-        // Observe the ViewModel’s observable tasks -> refresh the table model
-        vm.getTasks().addObserver((o, n) -> model.setData(n));
+        // Bottom: live counts, and progress while loading
+        progress.setIndeterminate(true);
+        progress.setVisible(false);
+        JPanel bottom = new JPanel(new BorderLayout(8, 0));
+        bottom.add(status, BorderLayout.CENTER);
+        bottom.add(progress, BorderLayout.EAST);
+        add(bottom, BorderLayout.SOUTH);
+        vm.getLiveStats().getCounts().addObserver((o, n) -> showCounts());
+        vm.getStateCounts().addObserver((o, n) -> showCounts());
+
+        // Observe the ViewModel’s list changes -> update the table model
+        vm.getChanges().addObserver((o, n) -> model.apply(n)); // row-level updates keep selection
+        vm.getLoading().addObserver((o, n) -> progress.setVisible(Boolean.TRUE.equals(n)));
 
         // Wire button actions
         add.addActionListener(e -> onAdd());
@@ -139,34 +187,14 @@ public class MainFrame extends JFrame {
         del.addActionListener(e -> onDelete());
         deleteAll.addActionListener(e -> onDeleteAll());
 
-        // Report generation (Visitor → ReportData → text preview)
+        // Report generation (ReportData → preview)
         btnReport.addActionListener(e -> {
-            ReportVisitor rv = new ReportVisitor();
-            for (int i = 0; i < model.getRowCount(); i++) {
-                rv.visit(model.getAt(i));
+            if (LAZY) { // counted off the EDT; the rows are fetched as they scroll into view
+                TaskQuery q = lazyQuery;
+                reportFailure(vm.reportAsync(q).thenAccept(rd -> showReport(rd, vm.lazyRows(q))));
+            } else {
+                showReport(vm.report(), null); // counts are kept live
             }
-            ReportData rd = rv.build();
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("Total: ").append(rd.total()).append("\n")
-                    .append("[ ] = To Do: ").append(rd.todo()).append("\n")
-                    .append("[~] = In Progress: ").append(rd.inProgress()).append("\n")
-                    .append("[x] = Completed: ").append(rd.completed()).append("\n\n")
-                    .append("-------------------------------------------\n\n");
-
-            for (ITask t : rd.all()) {
-                String sym = t.getState().symbol();
-                sb.append(sym).append(" #").append(t.getId())
-                        .append(" ").append(t.getTitle() == null ? "" : t.getTitle())
-                        .append("\n");
-            }
-
-            JTextArea area = new JTextArea(sb.toString(), 20, 60);
-            area.setEditable(false);
-            area.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 16));
-            JScrollPane sp = new JScrollPane(area);
-            sp.setPreferredSize(new Dimension(500, 400));
-            JOptionPane.showMessageDialog(this, sp, "Report (Preview)", JOptionPane.INFORMATION_MESSAGE);
         });
 
         setLocationRelativeTo(null);
@@ -176,7 +204,10 @@ public class MainFrame extends JFrame {
         // Sorting strategies
         sortCombo.addActionListener(e -> {
             String s = (String) sortCombo.getSelectedItem();
-            if ("By Title".equals(s)) vm.setSort(new SortByTitle());
+            if (LAZY) {
+                showLazy(lazyQuery.withSort("By Title".equals(s) ? TaskQuery.SortKey.TITLE
+                        : "By State".equals(s) ? TaskQuery.SortKey.STATE : TaskQuery.SortKey.ID));
+            } else if ("By Title".equals(s)) vm.setSort(new SortByTitle());
             else if ("By State".equals(s)) vm.setSort(new SortByState());
             else vm.setSort(new SortById());
         });
@@ -201,23 +232,128 @@ public class MainFrame extends JFrame {
             }
         });
 
-        // Initial load
-        try {
-            vm.load();
-        } catch (TasksDAOException ex) {
-            err(ex);
+        if (LAZY) {
+            showLazy(TaskQuery.all());
+            return;
         }
+
+        // Initial load (off the EDT)
+        reportFailure(vm.loadAsync());
+    }
+
+    /**
+     * Shows the report: the counts as text, and the tasks in a list that formats
+     * only the rows scrolled into view.
+     *
+     * @param rd       the report
+     * @param lazyRows in lazy mode, the rows to list (fetched as they are displayed) instead
+     *                 of the report's tasks; {@code null} otherwise
+     */
+    private void showReport(ReportData rd, LazyTaskList lazyRows) {
+        JTextArea head = new JTextArea("Total: " + rd.total() + "\n"
+                + "[ ] = To Do: " + rd.todo() + "\n"
+                + "[~] = In Progress: " + rd.inProgress() + "\n"
+                + "[x] = Completed: " + rd.completed() + "\n"
+                + "-------------------------------------------");
+        head.setEditable(false);
+        java.awt.Font mono = new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 16);
+        head.setFont(mono);
+
+        java.util.List<ITask> all = rd.all();
+        JList<String> rows = new JList<>(new AbstractListModel<>() {
+            {
+                if (lazyRows != null) {
+                    lazyRows.setListener((first, last) ->
+                            fireContentsChanged(this, Math.max(first, 0), last < 0 ? getSize() : last));
+                    lazyRows.setFailureHandler(e -> reportFailure(CompletableFuture.failedFuture(e)));
+                }
+            }
+
+            @Override
+            public int getSize() {
+                return lazyRows == null ? all.size() : lazyRows.size();
+            }
+
+            @Override
+            public String getElementAt(int i) {
+                ITask task = lazyRows == null ? all.get(i) : lazyRows.get(i);
+                if (task == null) return "..."; // lazy row still loading
+                // only rows scrolled into view are rendered, so wrapping one here is cheap
+                return switch (ReportTask.of(task)) {
+                    case ToDoTask(ITask t) -> "[ ] " + label(t);
+                    case InProgressTask(ITask t) -> "[~] " + label(t);
+                    case CompletedTask(ITask t) -> "[x] " + label(t);
+                };
+            }
+
+            private String label(ITask t) {
+                return "#" + t.getId() + " " + (t.getTitle() == null ? "" : t.getTitle());
+            }
+        });
+        rows.setFont(mono);
+        // a prototype row fixes the cell size, so the list never measures every row
+        rows.setPrototypeCellValue("[~] #0000000 " + "x".repeat(40));
+
+        JPanel p = new JPanel(new BorderLayout(0, 8));
+        p.add(head, BorderLayout.NORTH);
+        p.add(new JScrollPane(rows), BorderLayout.CENTER);
+        p.setPreferredSize(new Dimension(500, 400));
+        if (lazyRows != null) reportFailure(lazyRows.refresh());
+        JOptionPane.showMessageDialog(this, p, "Report (Preview)", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Shows the live counts of the visible tasks, and how many tasks are loaded, in the status bar.
+     */
+    private void showCounts() {
+        ReportData c = vm.getLiveStats().getCounts().getValue();
+        int loaded = 0;
+        for (int n : vm.getStateCounts().getValue().values()) loaded += n;
+        status.setText("Showing: " + c.total() + " of " + loaded + "   To Do: " + c.todo()
+                + "   In Progress: " + c.inProgress() + "   Completed: " + c.completed());
+    }
+
+    /**
+     * Lazy mode: shows the tasks matching {@code q}, fetched from the DAO as they are displayed.
+     */
+    private void showLazy(TaskQuery q) {
+        lazyQuery = q;
+        lazy = vm.lazyRows(q);
+        model.setLazy(lazy);
+        lazy.setFailureHandler(e -> reportFailure(CompletableFuture.failedFuture(e)));
+        reportFailure(lazy.refresh());
+    }
+
+    /**
+     * Lazy mode: recounts and refetches the rows once a change is stored; in normal mode
+     * the view model already updated the table.
+     */
+    private CompletableFuture<Void> changed(CompletableFuture<Void> f) {
+        return f.thenRun(() -> {
+            if (lazy != null) reportFailure(lazy.refresh());
+        });
+    }
+
+    /**
+     * Shows an error dialog (on the EDT) if an asynchronous ViewModel operation fails.
+     * Cancellation – a load superseded by a newer one – is not an error.
+     */
+    private void reportFailure(CompletableFuture<?> f) {
+        f.whenComplete((r, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause == null || cause instanceof CancellationException) return;
+            Exception e = cause instanceof Exception x ? x : new RuntimeException(cause);
+            SwingUtilities.invokeLater(() -> err(e));
+        });
     }
 
     /**
      * Applies the current filter composed of state (or "All") and title substring.
+     * The ViewModel debounces keystrokes and filters off the EDT.
      */
     private void applyFilter(TaskState st, String q) {
-        java.util.function.Predicate<ITask> f =
-                (st == null) ? TaskFilters.any() : TaskFilters.byState(st);
-        if (q != null && !q.isBlank())
-            f = il.ac.hit.project.main.viewmodel.combinator.Combinator.and(f, TaskFilters.byTitleContains(q));
-        vm.setFilter(f);
+        if (LAZY) showLazy(lazyQuery.withState(st).withTitleContains(q));
+        else vm.setSearch(st, q);
     }
 
     /**
@@ -241,11 +377,7 @@ public class MainFrame extends JFrame {
                 continue;
             }
 
-            try {
-                vm.add(title, desc, d.getState());
-            } catch (TasksDAOException ex) {
-                err(ex);
-            }
+            reportFailure(changed(vm.addAsync(title, desc, d.getState())));
             return;
         }
     }
@@ -261,6 +393,7 @@ public class MainFrame extends JFrame {
         }
 
         ITask t = model.getAt(r);
+        if (t == null) return; // lazy row still loading
         TaskFormDialog d = new TaskFormDialog(this, "Edit Task");
         d.setInitial(t.getTitle(), t.getDescription(), t.getState());
 
@@ -280,14 +413,8 @@ public class MainFrame extends JFrame {
                 continue;
             }
 
-            ((Task) t).setTitle(title);
-            ((Task) t).setDescription(desc);
-            ((Task) t).setState(d.getState());
-            try {
-                vm.update(t);
-            } catch (TasksDAOException ex) {
-                err(ex);
-            }
+            // a new object, so the displayed (and cached) task is not changed before the DAO accepts it
+            reportFailure(changed(vm.updateAsync(new Task(t.getId(), title, desc, d.getState()))));
             return;
         }
     }
@@ -302,6 +429,7 @@ public class MainFrame extends JFrame {
             return;
         }
         ITask t = model.getAt(r);
+        if (t == null) return; // lazy row still loading
 
         int choice = JOptionPane.showConfirmDialog(
                 this,
@@ -311,11 +439,7 @@ public class MainFrame extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE
         );
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                vm.delete(t.getId());
-            } catch (TasksDAOException ex) {
-                err(ex);
-            }
+            reportFailure(changed(vm.deleteAsync(t.getId())));
         }
     }
 
@@ -335,24 +459,37 @@ public class MainFrame extends JFrame {
                 this, msg, "Confirm Delete All", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
 
         if (ans == JOptionPane.YES_OPTION) {
-            try {
-                vm.deleteVisible(); //vm.deleteAll();
-            } catch (TasksDAOException ex) {
-                err(ex);
-            }
+            if (LAZY) reportFailure(changed(vm.deleteMatchingAsync(lazyQuery)));
+            else reportFailure(vm.deleteVisibleAsync()); //vm.deleteAll();
         }
     }
 
     /**
-     * Exports tasks to CSV using the ViewModel.
+     * Exports the shown tasks to CSV on a background thread, with a cancellable progress monitor.
+     * In lazy mode the tasks are streamed from the DAO.
      */
     private void onExport() {
         JFileChooser ch = new JFileChooser(new File("."));
         ch.setSelectedFile(new File("tasks_report.csv"));
-        if (ch.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            vm.exportCsv(ch.getSelectedFile().getAbsolutePath());
-            JOptionPane.showMessageDialog(this, "Exported to " + ch.getSelectedFile().getAbsolutePath());
-        }
+        if (ch.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        String path = ch.getSelectedFile().getAbsolutePath();
+        AtomicLong written = new AtomicLong();
+        CompletableFuture<Long> f = LAZY
+                ? vm.exportCsvAsync(lazyQuery, path, written::set)
+                : vm.exportCsvAsync(path, written::set);
+        ProgressMonitor pm = new ProgressMonitor(this, "Exporting tasks…", null, 0, Math.max(1, model.getRowCount()));
+        Timer poll = new Timer(200, e -> { // progress arrives on the export thread; sample it on the EDT
+            pm.setProgress((int) Math.min(written.get(), pm.getMaximum() - 1));
+            if (pm.isCanceled()) f.cancel(false);
+        });
+        poll.start();
+        f.whenComplete((n, ex) -> SwingUtilities.invokeLater(() -> {
+            poll.stop();
+            pm.close();
+            if (ex == null) JOptionPane.showMessageDialog(this, "Exported " + n + " tasks to " + path);
+        }));
+        reportFailure(f);
     }
 
     /**
@@ -1,8 +1,11 @@
 package il.ac.hit.project.main.view;
 
 import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.viewmodel.LazyTaskList;
+import il.ac.hit.project.main.viewmodel.TaskListChange;
 
 import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,13 +14,31 @@ import java.util.List;
  * Provides column names and values mapped from {@link ITask} objects,
  * supporting the columns: ID, Title, Description, and State.
  * This class is used by {@link MainFrame} to bind the data to the task table.
+ * <p>
+ * Changes published by the view model are applied with {@link #apply(TaskListChange)}, which
+ * fires row-level insert/delete/update events for edited rows, so the {@code JTable} keeps its
+ * selection and scroll position and repaints only what changed.
+ * <p>
+ * In lazy mode ({@link #setLazy(LazyTaskList)}) the model holds no rows itself: it shows
+ * the rows of a {@link LazyTaskList}, which fetches them from the DAO block by block as the
+ * table asks for them. Rows that are still loading are shown as placeholders.
  */
 public class TasksTableModel extends AbstractTableModel {
 
     /**
      * The underlying list of tasks currently displayed in the table.
      */
-    private List<ITask> data;
+    private ArrayList<ITask> data;
+
+    /**
+     * Version of the view model's list that {@link #data} corresponds to.
+     */
+    private long version;
+
+    /**
+     * Row source in lazy mode, or {@code null}.
+     */
+    private transient LazyTaskList lazy;
 
     /**
      * Column names shown in the table header.
@@ -30,7 +51,7 @@ public class TasksTableModel extends AbstractTableModel {
      * @param data the list of tasks to display
      */
     public TasksTableModel(List<ITask> data) {
-        this.data = data;
+        this.data = data == null ? new ArrayList<>() : new ArrayList<>(data);
     }
 
     /**
@@ -39,10 +60,68 @@ public class TasksTableModel extends AbstractTableModel {
      * @param d new list of tasks
      */
     public void setData(List<ITask> d) {
-        this.data = d;
+        this.data = d == null ? new ArrayList<>() : new ArrayList<>(d);
         fireTableDataChanged(); // notifies JTable to repaint with new data
     }
 
+    /**
+     * Applies a change of the view model's visible list.
+     * <p>
+     * Row edits are applied one by one, each followed by the matching
+     * {@code fireTableRows*} event. A full change, or one that does not follow the
+     * version this model shows (an intermediate change was coalesced away),
+     * replaces all rows via {@link #setData(List)}.
+     *
+     * @param c the change
+     */
+    public void apply(TaskListChange c) {
+        if (lazy != null) return; // rows come from the lazy list
+        if (c.isFull() || c.baseVersion() != version) {
+            version = c.version();
+            setData(c.rows());
+            return;
+        }
+        for (TaskListChange.RowEdit e : c.edits()) {
+            switch (e.kind()) {
+                case INSERTED -> {
+                    data.addAll(e.firstRow(), e.tasks());
+                    fireTableRowsInserted(e.firstRow(), e.lastRow());
+                }
+                case DELETED -> {
+                    data.subList(e.firstRow(), e.lastRow() + 1).clear();
+                    fireTableRowsDeleted(e.firstRow(), e.lastRow());
+                }
+                case UPDATED -> {
+                    for (int i = 0; i < e.tasks().size(); i++) data.set(e.firstRow() + i, e.tasks().get(i));
+                    fireTableRowsUpdated(e.firstRow(), e.lastRow());
+                }
+            }
+        }
+        version = c.version();
+        if (data.size() != c.rows().size()) setData(c.rows()); // out of step: resynchronize
+    }
+
+    /**
+     * Switches to lazy mode over the given rows, or back to holding rows ({@code null}).
+     * Loaded rows and count changes of the list are forwarded as table events.
+     *
+     * @param rows the lazy row source, or {@code null}
+     */
+    public void setLazy(LazyTaskList rows) {
+        if (lazy != null) lazy.setListener(null);
+        lazy = rows;
+        data = new ArrayList<>();
+        version = -1; // the next view-model change replaces all rows
+        if (rows != null) {
+            rows.setListener((first, last) -> {
+                if (lazy != rows) return;
+                if (first < 0) fireTableDataChanged();
+                else fireTableRowsUpdated(first, last);
+            });
+        }
+        fireTableDataChanged();
+    }
+
     /**
      * Returns the number of rows (tasks) in the table.
      *
@@ -50,6 +129,7 @@ public class TasksTableModel extends AbstractTableModel {
      */
     @Override
     public int getRowCount() {
+        if (lazy != null) return lazy.size();
         return data == null ? 0 : data.size();
     }
 
@@ -83,7 +163,8 @@ public class TasksTableModel extends AbstractTableModel {
      */
     @Override
     public Object getValueAt(int r, int c) {
-        ITask t = data.get(r);
+        ITask t = getAt(r);
+        if (t == null) return c == 1 ? "Loading…" : ""; // lazy row not fetched yet
         return switch (c) {
             case 0 -> t.getId();               // Task ID
             case 1 -> t.getTitle();            // Task title
@@ -97,9 +178,9 @@ public class TasksTableModel extends AbstractTableModel {
      * Returns the task at a specific row.
      *
      * @param row row index
-     * @return the {@link ITask} at that row
+     * @return the {@link ITask} at that row; in lazy mode {@code null} while it is loading
      */
     public ITask getAt(int row) {
-        return data.get(row);
+        return lazy != null ? lazy.get(row) : data.get(row);
     }
 }
@@ -1,6 +1,9 @@
 package il.ac.hit.project.main.view.observable;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A generic observable property that holds a value of type {@code T}
@@ -12,6 +15,12 @@ import java.util.*;
  *   <li>{@link #getValue()} retrieves the current value</li>
  *   <li>{@link #addObserver(IPropertyObserver)} registers new observers</li>
  * </ul>
+ * Observers may be added and removed from any thread, also while a notification is running.
+ * <p>
+ * By default observers are notified synchronously on the thread calling {@link #setValue(Object)}.
+ * A property created with a dispatcher ({@link #ObservableProperty(Object, Executor)}) instead
+ * delivers on that executor and coalesces bursts: all values set before a pending delivery runs
+ * are reported as a single change from the last delivered value to the latest one.
  *
  * @param <T> the type of value being observed
  */
@@ -19,12 +28,27 @@ public class ObservableProperty<T> {
     /**
      * The current value of the property.
      */
-    private T value;
+    private volatile T value;
+
+    /**
+     * List of observers subscribed to changes of this property (safe for concurrent registration).
+     */
+    private final List<IPropertyObserver<T>> obs = new CopyOnWriteArrayList<>();
+
+    /**
+     * Executor that delivers notifications, or {@code null} to notify synchronously.
+     */
+    private final Executor dispatcher;
 
     /**
-     * List of observers subscribed to changes of this property.
+     * Whether a delivery has been handed to the dispatcher and has not started yet.
      */
-    private final List<IPropertyObserver<T>> obs = new ArrayList<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * The value observers last heard about. Dispatcher only.
+     */
+    private T delivered;
 
     /**
      * Creates a new observable property with an initial value.
@@ -32,15 +56,37 @@ public class ObservableProperty<T> {
      * @param initial the initial value of the property
      */
     public ObservableProperty(T initial) {
+        this(initial, null);
+    }
+
+    /**
+     * Creates a new observable property that notifies its observers on {@code dispatcher},
+     * coalescing values set in quick succession.
+     * <p>
+     * The dispatcher must run tasks one at a time and in order, like the Swing EDT
+     * ({@code SwingUtilities::invokeLater}).
+     *
+     * @param initial    the initial value of the property
+     * @param dispatcher the executor delivering notifications, or {@code null} to notify synchronously
+     */
+    public ObservableProperty(T initial, Executor dispatcher) {
         this.value = initial;
+        this.delivered = initial;
+        this.dispatcher = dispatcher;
     }
 
     /**
-     * Updates the property's value and notifies all registered observers.
+     * Updates the property's value and notifies all registered observers,
+     * right away or, with a dispatcher, in the next pending delivery.
      *
      * @param v the new value to set
      */
     public void setValue(T v) {
+        if (dispatcher != null) {
+            value = v;
+            if (scheduled.compareAndSet(false, true)) dispatcher.execute(this::deliver);
+            return;
+        }
         T o = this.value;  // שמירה של הערך הישן לצורך דיווח
         this.value = v;    // עדכון הערך החדש
         // עדכון כל ה-observers עם הערך הישן והחדש
@@ -49,6 +95,20 @@ public class ObservableProperty<T> {
         }
     }
 
+    /**
+     * Runs on the dispatcher: reports the latest value, unless it is the one already delivered.
+     */
+    private void deliver() {
+        scheduled.set(false); // values set from now on schedule another delivery
+        T v = value;
+        T o = delivered;
+        if (v == o) return;
+        delivered = v;
+        for (IPropertyObserver<T> x : obs) {
+            x.onChanged(o, v);
+        }
+    }
+
     /**
      * Returns the current value of the property.
      *
@@ -66,4 +126,13 @@ public class ObservableProperty<T> {
     public void addObserver(IPropertyObserver<T> o) {
         obs.add(o);
     }
+
+    /**
+     * Unregisters an observer; it receives no notification that starts after this call.
+     *
+     * @param o the observer to remove
+     */
+    public void removeObserver(IPropertyObserver<T> o) {
+        obs.remove(o);
+    }
 }
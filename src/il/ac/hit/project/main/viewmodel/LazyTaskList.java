@@ -0,0 +1,242 @@
+package il.ac.hit.project.main.viewmodel;
+
+import il.ac.hit.project.main.model.dao.ITasksDAO;
+import il.ac.hit.project.main.model.dao.TaskQuery;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A virtual, read-only list of the tasks matching a {@link TaskQuery}, fetched from the DAO on demand.
+ * <p>
+ * Only the row count is known up front ({@link ITasksDAO#count(TaskQuery)}). Rows are fetched
+ * in fixed-size blocks ({@link ITasksDAO#query(TaskQuery)} with a page per block) the first time
+ * one of them is asked for, together with the neighbouring blocks, so scrolling rarely waits.
+ * At most {@code maxBlocks} blocks are kept, least recently used first out, so memory is
+ * proportional to what is on screen rather than to the number of tasks.
+ * <p>
+ * {@link #get(int)} never blocks: a row that is not loaded yet is reported as {@code null},
+ * and the {@link Listener} is told on the UI thread once its block arrives. A block whose fetch
+ * failed is fetched again when one of its rows is asked for, after a delay that doubles with
+ * every failure in a row; the failure is passed to the failure handler.
+ * All methods must be called on the UI thread; fetching runs on the I/O executor.
+ */
+public class LazyTaskList {
+
+    /**
+     * Receives notifications about rows that changed, on the UI thread.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called when rows were loaded, or with {@code -1, -1} when the row count changed
+         * and all rows must be redrawn.
+         *
+         * @param firstRow first loaded row, or {@code -1}
+         * @param lastRow  last loaded row (inclusive), or {@code -1}
+         */
+        void rowsChanged(int firstRow, int lastRow);
+    }
+
+    private final ITasksDAO dao;
+    private final TaskQuery query;
+    private final int blockSize;
+    private final int maxBlocks;
+    private final Executor io;
+    private final Executor ui;
+
+    private static final long FIRST_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Loaded blocks by block number, in access order (LRU). UI thread only.
+     */
+    private final LinkedHashMap<Integer, ITask[]> blocks;
+
+    /**
+     * Blocks being fetched. UI thread only.
+     */
+    private final Set<Integer> pending = new HashSet<>();
+
+    /**
+     * {@link System#nanoTime()} before which a block whose fetch failed is not fetched again. UI thread only.
+     */
+    private final Map<Integer, Long> retryAt = new HashMap<>();
+
+    /**
+     * Delay before the next retry; doubles with every failure and is reset by a successful fetch.
+     */
+    private long retryDelay = FIRST_RETRY_NANOS;
+
+    /**
+     * Whether the last fetch failed and was reported; further failures are not reported until a fetch succeeds.
+     */
+    private boolean failing;
+
+    private Listener listener = (first, last) -> {
+    };
+    private Consumer<Throwable> onFailure = e -> {
+    };
+    private int size;
+    private long generation;
+
+    /**
+     * Block around which rows are currently read; fetches of blocks far from it are skipped.
+     */
+    private volatile int focus;
+
+    /**
+     * Creates an empty list; call {@link #refresh()} to count the rows.
+     *
+     * @param dao       the data source
+     * @param query     filter and ordering of the rows (its paging is ignored)
+     * @param blockSize rows per block
+     * @param maxBlocks blocks kept in memory (at least 4: the visible ones plus their neighbours)
+     * @param io        executor running the DAO calls
+     * @param ui        executor of the UI thread
+     */
+    public LazyTaskList(ITasksDAO dao, TaskQuery query, int blockSize, int maxBlocks, Executor io, Executor ui) {
+        if (blockSize <= 0) throw new IllegalArgumentException("blockSize must be > 0");
+        if (maxBlocks < 4) throw new IllegalArgumentException("maxBlocks must be >= 4");
+        this.dao = dao;
+        this.query = query.withPage(0, 0);
+        this.blockSize = blockSize;
+        this.maxBlocks = maxBlocks;
+        this.io = io;
+        this.ui = ui;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ITask[]> eldest) {
+                return size() > LazyTaskList.this.maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * @param l the listener told about loaded rows and count changes
+     */
+    public void setListener(Listener l) {
+        this.listener = l == null ? (first, last) -> {
+        } : l;
+    }
+
+    /**
+     * @param handler told on the UI thread when fetching a block fails; only the first of several
+     *                failures in a row is reported
+     */
+    public void setFailureHandler(Consumer<Throwable> handler) {
+        this.onFailure = handler == null ? e -> {
+        } : handler;
+    }
+
+    /**
+     * @return the query this list shows
+     */
+    public TaskQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Recounts the rows and drops every loaded block, e.g. after tasks were changed.
+     *
+     * @return completes once the new count is in place
+     */
+    public CompletableFuture<Void> refresh() {
+        long gen = ++generation;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return dao.count(query);
+            } catch (TasksDAOException e) {
+                throw new CompletionException(e);
+            }
+        }, io).thenAcceptAsync(n -> {
+            if (gen != generation) return; // a newer refresh is running
+            size = n;
+            blocks.clear();
+            pending.clear();
+            retryAt.clear();
+            retryDelay = FIRST_RETRY_NANOS;
+            failing = false;
+            listener.rowsChanged(-1, -1);
+        }, ui);
+    }
+
+    /**
+     * @return the number of rows (as of the last {@link #refresh()})
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a row if its block is loaded; otherwise starts loading it.
+     * Either way, the neighbouring blocks are prefetched.
+     *
+     * @param row the row index
+     * @return the task, or {@code null} if it is not loaded yet
+     */
+    public ITask get(int row) {
+        if (row < 0 || row >= size) return null;
+        int b = row / blockSize;
+        focus = b;
+        ITask[] block = blocks.get(b);
+        request(b); // first, so the visible block is fetched before its neighbours
+        request(b + 1);
+        request(b - 1);
+        int i = row - b * blockSize;
+        return block != null && i < block.length ? block[i] : null;
+    }
+
+    /**
+     * @return the number of blocks currently held in memory
+     */
+    public int loadedBlocks() {
+        return blocks.size();
+    }
+
+    /**
+     * Starts fetching a block unless it is out of range, loaded, already being fetched
+     * or waiting to be retried after a failure.
+     */
+    private void request(int b) {
+        if (b < 0 || (long) b * blockSize >= size || blocks.containsKey(b)) return;
+        Long at = retryAt.get(b);
+        if (at != null && System.nanoTime() - at < 0) return;
+        if (!pending.add(b)) return;
+        long gen = generation;
+        CompletableFuture.supplyAsync(() -> {
+            if (Math.abs(b - focus) > maxBlocks) return null; // scrolled away while queued
+            try {
+                return dao.query(query.withPage(b * blockSize, blockSize));
+            } catch (TasksDAOException e) {
+                throw new CompletionException(e);
+            }
+        }, io).whenCompleteAsync((rows, ex) -> {
+            if (gen != generation) return; // stale: refresh() already cleared pending
+            pending.remove(b);
+            if (ex != null) {
+                retryAt.put(b, System.nanoTime() + retryDelay);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_NANOS);
+                if (!failing) {
+                    failing = true;
+                    onFailure.accept(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                }
+                return;
+            }
+            if (rows == null) return; // skipped; fetched again when needed
+            retryAt.remove(b);
+            retryDelay = FIRST_RETRY_NANOS;
+            failing = false;
+            blocks.put(b, rows);
+            int first = b * blockSize;
+            int last = Math.min(size, first + rows.length) - 1;
+            if (last >= first) listener.rowsChanged(first, last);
+        }, ui);
+    }
+}
@@ -0,0 +1,105 @@
+package il.ac.hit.project.main.viewmodel;
+
+import il.ac.hit.project.main.model.report.ReportData;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.view.observable.IPropertyObserver;
+import il.ac.hit.project.main.view.observable.ObservableProperty;
+import il.ac.hit.project.main.viewmodel.index.StatePartition;
+
+import java.util.List;
+
+/**
+ * Report statistics of the visible task list, kept current from {@link TaskListChange}s.
+ * <p>
+ * Subscribed to {@link TasksViewModel#getChanges()}, it applies each row edit to a
+ * {@link StatePartition} of the visible tasks (the same index the view model keeps over all
+ * tasks), so a single add, edit or delete costs constant time and reading the counts never
+ * walks the list. Only full replacements (load, filter, sort) and missed versions are
+ * recounted from the change's rows. The row list of the last change is kept by reference,
+ * so {@link #report()} costs no copy either.
+ * <p>
+ * Must be used on the thread that delivers the changes (the UI thread).
+ */
+public final class LiveReportStats implements IPropertyObserver<TaskListChange> {
+
+    /**
+     * The visible tasks by state.
+     */
+    private final StatePartition byState = new StatePartition();
+    private List<ITask> rows = List.of();
+    private long version = -1;
+
+    /**
+     * Counts-only report, replaced after every applied change.
+     */
+    private final ObservableProperty<ReportData> current = new ObservableProperty<>(new ReportData(List.of(), 0, 0, 0, 0));
+
+    @Override
+    public void onChanged(TaskListChange oldVal, TaskListChange newVal) {
+        apply(newVal);
+    }
+
+    /**
+     * Brings the counts to the state after {@code c}.
+     *
+     * @param c the change of the visible list
+     */
+    public void apply(TaskListChange c) {
+        if (c == null) return;
+        if (c.isFull() || c.baseVersion() != version) {
+            byState.clear();
+            for (ITask t : c.rows()) byState.put(t);
+        } else {
+            for (TaskListChange.RowEdit e : c.edits()) {
+                for (ITask t : e.tasks()) {
+                    if (e.kind() == TaskListChange.Kind.DELETED) byState.remove(t.getId());
+                    else byState.put(t); // an update moves the task to its new state
+                }
+            }
+        }
+        rows = c.rows();
+        version = c.version();
+        current.setValue(counts());
+    }
+
+    /**
+     * @param s a state
+     * @return the number of visible tasks in that state
+     */
+    public int count(TaskState s) {
+        return byState.count(s);
+    }
+
+    /**
+     * @return the number of visible tasks
+     */
+    public int total() {
+        return byState.size();
+    }
+
+    /**
+     * @return the current counts, as a report with an empty task list
+     */
+    public ReportData counts() {
+        return new ReportData(List.of(), count(TaskState.ToDo), count(TaskState.InProgress),
+                count(TaskState.Completed), total());
+    }
+
+    /**
+     * @return the current counts with the visible tasks (an immutable list, in display order)
+     */
+    public ReportData report() {
+        return new ReportData(rows, count(TaskState.ToDo), count(TaskState.InProgress),
+                count(TaskState.Completed), total());
+    }
+
+    /**
+     * Observable counts-only report, updated after every change, e.g. for a status bar.
+     *
+     * @return the property
+     */
+    public ObservableProperty<ReportData> getCounts() {
+        return current;
+    }
+}
@@ -0,0 +1,59 @@
+package il.ac.hit.project.main.viewmodel;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.List;
+
+/**
+ * A change of the visible task list published by {@link TasksViewModel#getChanges()}.
+ * <p>
+ * Each change turns version {@code baseVersion} of the list into version {@code version}.
+ * When {@link #edits()} is not {@code null} it lists the row edits that do so, to be applied
+ * in order (the rows of each edit refer to the list as left by the previous one), so a view
+ * can update only the affected rows. A {@code null} edit list means the list changed
+ * wholesale (load, filter, sort) and must be replaced by {@link #rows()}. A view that missed
+ * a version (its version is not {@code baseVersion}) must do the same.
+ *
+ * @param baseVersion the version this change applies to
+ * @param version     the version after the change
+ * @param rows        the complete list after the change (immutable)
+ * @param edits       the row edits, or {@code null} for a full replacement
+ */
+public record TaskListChange(long baseVersion, long version, List<ITask> rows, List<RowEdit> edits) {
+
+    /**
+     * Kinds of row edits.
+     */
+    public enum Kind {
+        /**
+         * Rows {@code firstRow..lastRow} were inserted.
+         */
+        INSERTED,
+        /**
+         * Rows {@code firstRow..lastRow} were deleted.
+         */
+        DELETED,
+        /**
+         * Rows {@code firstRow..lastRow} now hold other task objects (same position).
+         */
+        UPDATED
+    }
+
+    /**
+     * One edit of a contiguous row range.
+     *
+     * @param kind     the kind of edit
+     * @param firstRow first affected row
+     * @param lastRow  last affected row (inclusive)
+     * @param tasks    the inserted, updated or deleted tasks, in row order
+     */
+    public record RowEdit(Kind kind, int firstRow, int lastRow, List<ITask> tasks) {
+    }
+
+    /**
+     * @return {@code true} if the whole list must be replaced
+     */
+    public boolean isFull() {
+        return edits == null;
+    }
+}
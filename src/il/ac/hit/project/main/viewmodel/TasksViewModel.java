@@ -4,12 +4,22 @@ import il.ac.hit.project.main.model.dao.*;
 import il.ac.hit.project.main.model.task.*;
 import il.ac.hit.project.main.model.report.*;
 import il.ac.hit.project.main.view.observable.ObservableProperty;
+import il.ac.hit.project.main.viewmodel.combinator.Combinator;
 import il.ac.hit.project.main.viewmodel.combinator.TaskFilters;
+import il.ac.hit.project.main.viewmodel.index.StatePartition;
+import il.ac.hit.project.main.viewmodel.index.TitleIndex;
 import il.ac.hit.project.main.viewmodel.strategy.*;
 
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * ViewModel for the Tasks Management application (MVVM).
@@ -22,18 +32,174 @@ import java.util.stream.Collectors;
  * - Combinator – functional composition of predicates for filtering.
  * - Observer – {@link ObservableProperty} notifies the View on changes.
  * - Adapter + Visitor – export via {@link CsvReportAdapter} and {@link ReportVisitor}.
+ * <p>
+ * Threading: the observable state (task list, filter, sort) belongs to the UI thread.
+ * The {@code *Async} methods run DAO work on a dedicated background thread and hand the
+ * results back to the UI thread (via {@link SwingUtilities#invokeLater} by default), so the
+ * EDT never waits for the database. A newer {@link #loadAsync()} supersedes (cancels) an older
+ * one, and {@link #getLoading()} reports whether a load is running. The synchronous methods
+ * remain for callers that already run off the EDT or on the UI thread in tests.
+ * <p>
+ * Search ({@link #setSearch(TaskState, String)}) is debounced: filtering starts only after the
+ * input has been quiet for a configurable period, runs on a background thread, and its result is
+ * dropped if a newer search arrived meanwhile. When a query only extends the previous one
+ * ("rep" → "repo") just the previous matches are re-checked, and they need no re-sorting.
  */
 public class TasksViewModel {
 
     /**
      * Data-access entry (may be proxied/cached depending on {@link DAOFactory} configuration).
      */
-    private final ITasksDAO dao = DAOFactory.getInstance().getDAO();
+    private final ITasksDAO dao;
+
+    /**
+     * Runs DAO calls in submission order, off the UI thread.
+     */
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "tasks-vm-io");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Runs publishing steps on the UI thread.
+     */
+    private final Executor ui;
+
+    /**
+     * Debounces search input and runs the filtering, off the UI thread.
+     */
+    private final ScheduledExecutorService searcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "tasks-vm-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Quiet period before a search starts, in milliseconds.
+     */
+    private volatile long searchDelayMillis = Long.getLong("tasks.ui.searchDelayMillis", 150);
+
+    /**
+     * Incremented by every search and filter change; a search whose number is no longer current is stale.
+     */
+    private final AtomicLong searchGeneration = new AtomicLong();
+
+    /**
+     * The pending (debounced) search, if any. UI thread only.
+     */
+    private ScheduledFuture<?> pendingSearch;
+
+    /**
+     * Future of the latest search, cancelled when a newer one replaces it. UI thread only.
+     */
+    private CompletableFuture<Void> searchDone = CompletableFuture.completedFuture(null);
+
+    /**
+     * The search that produced the current {@link #filter}, or {@code null} if the filter was
+     * set directly. UI thread only.
+     */
+    private Search appliedSearch;
+
+    /**
+     * Trigram index over the titles in {@link #all}, maintained with it; used by title searches.
+     */
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    /**
+     * The tasks of {@link #all} partitioned by state, maintained with it; serves state filters and counts.
+     */
+    private final StatePartition byState = new StatePartition();
+
+    /**
+     * Incremented on every change of {@link #all}, so a background search can tell whether
+     * the tasks it filtered are still current. UI thread only.
+     */
+    private long dataVersion;
+
+    /**
+     * Incremented by every {@link #loadAsync()}; a load whose number is no longer current is superseded.
+     */
+    private final AtomicLong loadGeneration = new AtomicLong();
+
+    /**
+     * Whether a {@link #loadAsync()} is running. Changes are published on the UI thread.
+     */
+    private final ObservableProperty<Boolean> loading;
+
+    /**
+     * Creates a view model over the application's DAO that publishes on the Swing EDT.
+     */
+    public TasksViewModel() {
+        this(DAOFactory.getInstance().getDAO(), SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Creates a view model over the given DAO.
+     *
+     * @param dao the data source
+     * @param ui  executor that runs publishing steps on the UI thread
+     */
+    public TasksViewModel(ITasksDAO dao, Executor ui) {
+        this.dao = dao;
+        this.ui = ui;
+        // observers are notified on the UI executor; bursts of changes reach them as one update
+        this.loading = new ObservableProperty<>(false, ui);
+        this.tasks = new ObservableProperty<>(List.of(), ui);
+        this.changes = new ObservableProperty<>(new TaskListChange(0, 0, List.of(), List.of()), ui);
+        this.stateCounts = new ObservableProperty<>(byState.counts(), ui);
+        changes.addObserver(liveStats);
+    }
+
+    /**
+     * Counts of the visible tasks, kept current from the published changes.
+     */
+    private final LiveReportStats liveStats = new LiveReportStats();
+
+    /**
+     * Returns the live statistics of the visible tasks; they are updated on the UI thread,
+     * in step with {@link #getChanges()}.
+     *
+     * @return the live statistics
+     */
+    public LiveReportStats getLiveStats() {
+        return liveStats;
+    }
+
+    /**
+     * Observable "a load is in progress" flag, so the view can show progress.
+     */
+    public ObservableProperty<Boolean> getLoading() {
+        return loading;
+    }
+
+    /**
+     * In-memory cache of all tasks retrieved from the DAO, keyed by ID (source-of-truth for current session).
+     */
+    private final Map<Integer, ITask> all = new LinkedHashMap<>();
+
+    /**
+     * The tasks that pass {@link #filter}, kept sorted by {@link #order}. Maintained incrementally:
+     * a change inserts, removes or repositions single tasks by binary search, and only a change
+     * of the filter or the sorting strategy rebuilds it.
+     */
+    private ArrayList<ITask> visible = new ArrayList<>();
+
+    /**
+     * Row edits applied to {@link #visible} since the last publish, in order, or {@code null}
+     * if it changed wholesale. UI thread only.
+     */
+    private ArrayList<TaskListChange.RowEdit> edits = new ArrayList<>();
+
+    /**
+     * More pending row edits than this are published as a full replacement instead.
+     */
+    private static final int MAX_EDITS = 64;
 
     /**
-     * In-memory cache of all tasks retrieved from the DAO (source-of-truth for current session).
+     * Version of the published visible list, incremented by every publish. UI thread only.
      */
-    private final List<ITask> all = new ArrayList<>();
+    private long listVersion;
 
     /**
      * Current filter predicate (composed via Combinator helpers). Defaults to "accept all".
@@ -45,12 +211,19 @@ public class TasksViewModel {
      */
     private ISortingStrategy sort = new SortById();
 
+    /**
+     * The current strategy's comparator with ties broken by ID, so every task has exactly one
+     * position in {@link #visible} and binary search finds it.
+     */
+    private Comparator<ITask> order = totalOrder(sort);
+
     /**
      * Observable list of tasks after filter+sort.
      * The View (table model) subscribes to this property to auto-refresh on change.
      * Kept PRIVATE per guideline; expose via getter.
+     * Notifications are coalesced: several publishes in one UI cycle reach observers once.
      */
-    private final ObservableProperty<List<ITask>> tasks = new ObservableProperty<>(List.of());
+    private final ObservableProperty<List<ITask>> tasks;
 
     /**
      * Public accessor for the observable tasks property (read-only reference).
@@ -59,88 +232,810 @@ public class TasksViewModel {
         return tasks;
     }
 
+    /**
+     * Observable changes of the visible list, published together with {@link #getTasks()}:
+     * row-level edits where the list was edited in place, full replacements otherwise.
+     */
+    private final ObservableProperty<TaskListChange> changes;
+
+    /**
+     * @return observable changes of the visible list, for views that update row by row
+     */
+    public ObservableProperty<TaskListChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Number of tasks in each state, over all loaded tasks (not only the visible ones).
+     * Updated together with {@link #getTasks()}.
+     */
+    private final ObservableProperty<Map<TaskState, Integer>> stateCounts;
+
+    /**
+     * @return observable per-state task counts over all loaded tasks
+     */
+    public ObservableProperty<Map<TaskState, Integer>> getStateCounts() {
+        return stateCounts;
+    }
+
+    /**
+     * @param s the state
+     * @return the number of loaded tasks in that state
+     */
+    public int count(TaskState s) {
+        return byState.count(s);
+    }
+
+    /**
+     * Size of the first page fetched by {@link #load()}; later pages double up to {@link #MAX_PAGE_SIZE}.
+     */
+    private static final int FIRST_PAGE_SIZE = 256;
+
+    /**
+     * Upper bound for the page size used by {@link #load()}.
+     */
+    private static final int MAX_PAGE_SIZE = 65_536;
+
     /**
      * Loads (or reloads) all tasks from the DAO into memory and publishes
      * the filtered+sorted projection to observers.
+     * <p>
+     * Tasks are fetched page by page with keyset pagination
+     * ({@link ITasksDAO#getTasksAfter(int, int)}), with geometrically growing pages.
+     * The caller's thread (usually the EDT) cannot repaint between pages, so the pages
+     * are merged into the view once and published once; {@link #loadAsync()} is the
+     * variant that shows pages as they arrive.
      */
     public void load() throws TasksDAOException {
-        all.clear();
-        all.addAll(Arrays.asList(dao.getTasks())); // fetch authoritative list
-        publish();                                  // push filtered+sorted view
+        List<ITask> loaded = new ArrayList<>();
+        int lastId = 0;
+        int limit = FIRST_PAGE_SIZE;
+        while (true) {
+            ITask[] page = dao.getTasksAfter(lastId, limit);
+            Collections.addAll(loaded, page);
+            if (page.length < limit) break;            // short page = end of table
+            lastId = page[page.length - 1].getId();
+            limit = Math.min(limit * 2, MAX_PAGE_SIZE);
+        }
+        clear();
+        merge(loaded.toArray(new ITask[0]));           // one sort of the filtered view
+        publish();
+    }
+
+    /**
+     * Loads all tasks on the background thread, publishing every page on the UI thread
+     * as it arrives (see {@link #load()} for the paging scheme).
+     * <p>
+     * Starting a new load supersedes this one: it stops at the next page boundary, publishes
+     * nothing more, and its future is cancelled. Until the first page of a load arrives the
+     * previously published tasks stay visible.
+     *
+     * @return completes on the UI thread once the last page is published; completes exceptionally
+     * with the {@link TasksDAOException} if the DAO fails
+     */
+    public CompletableFuture<Void> loadAsync() {
+        long gen = loadGeneration.incrementAndGet();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        ui.execute(() -> {
+            if (gen == loadGeneration.get()) loading.setValue(true);
+        });
+        io.execute(() -> {
+            try {
+                int lastId = 0;
+                int limit = FIRST_PAGE_SIZE;
+                boolean first = true;
+                while (true) {
+                    if (gen != loadGeneration.get()) {
+                        done.cancel(false);
+                        return;
+                    }
+                    ITask[] page = dao.getTasksAfter(lastId, limit);
+                    boolean reset = first;
+                    boolean last = page.length < limit; // short page = end of table
+                    ui.execute(() -> {
+                        if (gen != loadGeneration.get()) {
+                            done.cancel(false);
+                            return;
+                        }
+                        if (reset) clear();
+                        merge(page);
+                        publish();
+                        if (last) {
+                            loading.setValue(false);
+                            done.complete(null);
+                        }
+                    });
+                    if (last) return;
+                    first = false;
+                    lastId = page[page.length - 1].getId();
+                    limit = Math.min(limit * 2, MAX_PAGE_SIZE);
+                }
+            } catch (TasksDAOException | RuntimeException e) {
+                ui.execute(() -> {
+                    if (gen == loadGeneration.get()) loading.setValue(false);
+                    done.completeExceptionally(e);
+                });
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Cancels a running {@link #loadAsync()}; the tasks published so far stay visible.
+     */
+    public void cancelLoad() {
+        loadGeneration.incrementAndGet();
+        ui.execute(() -> loading.setValue(false));
     }
 
     /**
      * Sets the active filter predicate; null means "match any". Triggers publish.
      */
     public void setFilter(Predicate<ITask> f) {
+        cancelSearch();
+        appliedSearch = null;
         this.filter = (f == null) ? TaskFilters.any() : f;
-        publish();
+        rebuild();
+    }
+
+    /**
+     * A search by state (or any state) and case-insensitive title substring.
+     */
+    private record Search(TaskState state, String query) {
+        Search {
+            query = query == null ? "" : query.toLowerCase();
+        }
+
+        Predicate<ITask> predicate(TitleIndex index) {
+            Predicate<ITask> f = (state == null) ? TaskFilters.any() : TaskFilters.byState(state);
+            return query.isBlank() ? f : Combinator.and(f, TaskFilters.byTitleContains(query, index));
+        }
+
+        /**
+         * Whether every task matching {@code next} also matches this search,
+         * so {@code next} only has to look at this search's matches.
+         */
+        boolean narrowsTo(Search next) {
+            return (state == null || state == next.state) && (query.isBlank() || next.query.contains(query));
+        }
+    }
+
+    /**
+     * Sets the quiet period of {@link #setSearch(TaskState, String)}.
+     *
+     * @param millis delay in milliseconds ({@code 0} starts every search immediately)
+     */
+    public void setSearchDelay(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("millis must be >= 0");
+        this.searchDelayMillis = millis;
+    }
+
+    /**
+     * Filters by state ({@code null} = any) and title substring, debounced and off the UI thread.
+     * Must be called on the UI thread; the result is published there.
+     *
+     * @param state the state to show, or {@code null} for all states
+     * @param query case-insensitive title substring; blank for any title
+     * @return completes once this search is published; cancelled if a newer search or filter replaces it
+     */
+    public CompletableFuture<Void> setSearch(TaskState state, String query) {
+        Search next = new Search(state, query);
+        cancelSearch();
+        long gen = searchGeneration.get();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        searchDone = done;
+        pendingSearch = searcher.schedule(() -> ui.execute(() -> beginSearch(gen, next, done)),
+                searchDelayMillis, TimeUnit.MILLISECONDS);
+        return done;
+    }
+
+    /**
+     * Drops a pending or running search.
+     */
+    private void cancelSearch() {
+        searchGeneration.incrementAndGet();
+        if (pendingSearch != null) pendingSearch.cancel(false);
+        pendingSearch = null;
+        searchDone.cancel(false);
+    }
+
+    /**
+     * UI thread, after the quiet period: snapshots the tasks to filter and hands them to the searcher.
+     * Narrowing searches start from the current (already sorted) matches; other title searches
+     * start from the candidates of the title index, and state-only searches from the state's partition.
+     */
+    private void beginSearch(long gen, Search next, CompletableFuture<Void> done) {
+        if (gen != searchGeneration.get()) {
+            done.cancel(false);
+            return;
+        }
+        boolean narrowing = appliedSearch != null && appliedSearch.narrowsTo(next);
+        int[] candidates = narrowing ? null : titleIndex.candidates(next.query());
+        List<ITask> source;
+        if (narrowing) {
+            source = List.copyOf(visible);
+        } else if (candidates != null) {
+            source = new ArrayList<>(candidates.length);
+            for (int id : candidates) source.add(all.get(id));
+        } else {
+            source = new ArrayList<>(next.state() == null ? all.values() : byState.tasks(next.state()));
+        }
+        long version = dataVersion;
+        Comparator<ITask> ord = order;
+        Predicate<ITask> p = next.predicate(titleIndex);
+        searcher.execute(() -> {
+            ArrayList<ITask> result = new ArrayList<>();
+            for (int i = 0; i < source.size(); i++) {
+                if ((i & 4095) == 0 && gen != searchGeneration.get()) { // a newer search arrived
+                    done.cancel(false);
+                    return;
+                }
+                ITask t = source.get(i);
+                if (p.test(t)) result.add(t);
+            }
+            if (!narrowing) result.sort(ord);
+            ui.execute(() -> {
+                if (gen != searchGeneration.get()) {
+                    done.cancel(false);
+                    return;
+                }
+                pendingSearch = null;
+                filter = p;
+                appliedSearch = next;
+                if (version != dataVersion || ord != order) {
+                    rebuild(); // tasks or sort changed while filtering
+                } else {
+                    replaceVisible(result);
+                    publish();
+                }
+                done.complete(null);
+            });
+        });
     }
 
     /**
      * Sets the active sorting strategy; ignores null. Triggers publish.
      */
     public void setSort(ISortingStrategy s) {
-        if (s != null) this.sort = s;
-        publish();
+        if (s != null) {
+            this.sort = s;
+            this.order = totalOrder(s);
+        }
+        rebuild();
     }
 
     /**
-     * Applies current filter+sort and notifies observers with a fresh immutable list.
+     * Returns the strategy's comparator with ties broken by ID.
+     */
+    private static Comparator<ITask> totalOrder(ISortingStrategy s) {
+        return s.getComparator().thenComparingInt(ITask::getId);
+    }
+
+    /**
+     * Notifies observers with a fresh immutable copy of the visible list and the
+     * row edits (or full replacement) that produced it.
      */
     private void publish() {
-        tasks.setValue(
-                all.stream()
-                        .filter(filter)
-                        .sorted(sort.getComparator())
-                        .collect(Collectors.toList())
-        );
+        List<ITask> snapshot = List.copyOf(visible);
+        long base = listVersion++;
+        changes.setValue(new TaskListChange(base, listVersion, snapshot, edits == null ? null : List.copyOf(edits)));
+        edits = new ArrayList<>();
+        tasks.setValue(snapshot);
+        stateCounts.setValue(byState.counts());
+    }
+
+    /**
+     * Replaces the visible list wholesale; the next publish is a full replacement.
+     */
+    private void replaceVisible(ArrayList<ITask> v) {
+        visible = v;
+        edits = null;
+    }
+
+    /**
+     * Records a row edit of {@link #visible} for the next publish.
+     */
+    private void edited(TaskListChange.Kind kind, int first, int last, List<ITask> rows) {
+        if (edits == null) return;
+        if (edits.size() >= MAX_EDITS) {
+            edits = null; // cheaper to refresh everything
+            return;
+        }
+        edits.add(new TaskListChange.RowEdit(kind, first, last, rows));
+    }
+
+    /**
+     * Re-applies the filter and sort to all tasks from scratch and publishes.
+     * Only needed when the filter or the sorting strategy changes.
+     */
+    private void rebuild() {
+        ArrayList<ITask> v = new ArrayList<>();
+        TaskState only = appliedSearch == null ? null : appliedSearch.state();
+        for (ITask t : only == null ? all.values() : byState.tasks(only)) {
+            if (filter.test(t)) v.add(t);
+        }
+        v.sort(order);
+        replaceVisible(v);
+        publish();
+    }
+
+    /**
+     * Forgets all tasks (start of a full load).
+     */
+    private void clear() {
+        dataVersion++;
+        all.clear();
+        titleIndex.clear();
+        byState.clear();
+        replaceVisible(new ArrayList<>());
+    }
+
+    /**
+     * Adds a page of loaded tasks: the matching ones are sorted among themselves and
+     * merged into the visible list in a single linear pass.
+     */
+    private void merge(ITask[] page) {
+        dataVersion++;
+        edits = null; // pages are merged wholesale
+        ArrayList<ITask> fresh = new ArrayList<>(page.length);
+        for (ITask t : page) {
+            ITask old = all.put(t.getId(), t);
+            titleIndex.put(t);
+            byState.put(t);
+            if (old != null) removeVisible(old);
+            if (filter.test(t)) fresh.add(t);
+        }
+        if (fresh.isEmpty()) return;
+        fresh.sort(order);
+        ArrayList<ITask> merged = new ArrayList<>(visible.size() + fresh.size());
+        int i = 0, j = 0;
+        while (i < visible.size() && j < fresh.size()) {
+            merged.add(order.compare(visible.get(i), fresh.get(j)) <= 0 ? visible.get(i++) : fresh.get(j++));
+        }
+        while (i < visible.size()) merged.add(visible.get(i++));
+        while (j < fresh.size()) merged.add(fresh.get(j++));
+        replaceVisible(merged);
     }
 
     /**
-     * Creates a new task, persists via DAO, then refreshes the view.
+     * Inserts or replaces one task, moving it to its position in the visible list.
+     */
+    private void put(ITask t) {
+        dataVersion++;
+        ITask old = all.put(t.getId(), t);
+        titleIndex.put(t);
+        byState.put(t);
+        int from = old == null ? -1 : removeVisible(old);
+        if (filter.test(t)) {
+            int i = Collections.binarySearch(visible, t, order);
+            int to = i < 0 ? -i - 1 : i;
+            visible.add(to, t);
+            if (from == to) {
+                edited(TaskListChange.Kind.UPDATED, to, to, List.of(t)); // stayed in place
+                return;
+            }
+            if (from >= 0) edited(TaskListChange.Kind.DELETED, from, from, List.of(old));
+            edited(TaskListChange.Kind.INSERTED, to, to, List.of(t));
+        } else if (from >= 0) {
+            edited(TaskListChange.Kind.DELETED, from, from, List.of(old));
+        }
+    }
+
+    /**
+     * Removes one task by ID.
+     */
+    private void remove(int id) {
+        dataVersion++;
+        ITask old = all.remove(id);
+        titleIndex.remove(id);
+        byState.remove(id);
+        int from = old == null ? -1 : removeVisible(old);
+        if (from >= 0) edited(TaskListChange.Kind.DELETED, from, from, List.of(old));
+    }
+
+    /**
+     * Removes a task from the visible list. Found by binary search; if the task object was
+     * modified in place (so its sort key no longer matches its position) it is found by ID.
+     *
+     * @return the row it was removed from, or -1 if it was not visible
+     */
+    private int removeVisible(ITask t) {
+        int i = Collections.binarySearch(visible, t, order);
+        if (i < 0 || visible.get(i).getId() != t.getId()) {
+            i = -1;
+            for (int k = 0; k < visible.size(); k++) {
+                if (visible.get(k).getId() == t.getId()) {
+                    i = k;
+                    break;
+                }
+            }
+        }
+        if (i >= 0) visible.remove(i);
+        return i;
+    }
+
+    /**
+     * Creates a new task, persists via DAO, then places it in the view.
      */
     public void add(String title, String desc, TaskState state) throws TasksDAOException {
-        dao.addTask(new Task(0, title, desc, state)); // id generated by DAO/DB
-        load();
+        Task t = new Task(0, title, desc, state); // id generated by DAO/DB
+        dao.addTask(t);
+        applyAdded(t);
     }
 
     /**
-     * Updates an existing task via DAO, then refreshes the view.
+     * Updates an existing task via DAO, then repositions it in the view.
      */
     public void update(ITask t) throws TasksDAOException {
         dao.updateTask(t);
-        load();
+        put(t);
+        publish();
     }
 
     /**
-     * Deletes a single task by id via DAO, then refreshes the view.
+     * Deletes a single task by id via DAO, then removes it from the view.
      */
     public void delete(int id) throws TasksDAOException {
         dao.deleteTask(id);
-        load();
+        remove(id);
+        publish();
+    }
+
+    /**
+     * Places a newly added task in the view; reloads if the DAO did not report its ID.
+     */
+    private void applyAdded(Task t) throws TasksDAOException {
+        if (t.getId() > 0) {
+            put(t);
+            publish();
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Creates a new task on the background thread, then places it in the view on the UI thread.
+     *
+     * @return completes once the task is stored and published
+     */
+    public CompletableFuture<Void> addAsync(String title, String desc, TaskState state) {
+        Task t = new Task(0, title, desc, state); // id generated by DAO/DB
+        return runOnIo(() -> dao.addTask(t)).thenComposeAsync(v -> {
+            if (t.getId() > 0) {
+                put(t);
+                publish();
+                return CompletableFuture.completedFuture(null);
+            }
+            return reload(); // the DAO did not report the generated ID
+        }, ui);
+    }
+
+    /**
+     * Updates a task on the background thread, then repositions it in the view on the UI thread.
+     *
+     * @return completes once the change is stored and published
+     */
+    public CompletableFuture<Void> updateAsync(ITask t) {
+        return runOnIo(() -> dao.updateTask(t)).thenRunAsync(() -> {
+            put(t);
+            publish();
+        }, ui);
+    }
+
+    /**
+     * Deletes a task on the background thread, then removes it from the view on the UI thread.
+     *
+     * @return completes once the task is deleted and the view published
+     */
+    public CompletableFuture<Void> deleteAsync(int id) {
+        return runOnIo(() -> dao.deleteTask(id)).thenRunAsync(() -> {
+            remove(id);
+            publish();
+        }, ui);
+    }
+
+    /**
+     * Deletes the currently visible tasks on the background thread, then removes them from the view.
+     * Must be called on the UI thread (it reads the visible list).
+     *
+     * @return completes once the tasks are deleted and the view published
+     */
+    public CompletableFuture<Void> deleteVisibleAsync() {
+        int[] ids = visibleIds();
+        return runOnIo(() -> dao.deleteTasks(ids)).thenRunAsync(() -> {
+            removeAll(ids);
+            publish();
+        }, ui);
+    }
+
+    /**
+     * Rows per block of a {@link #lazyRows(TaskQuery)} list.
+     */
+    private static final int LAZY_BLOCK_SIZE = Integer.getInteger("tasks.ui.lazyBlockSize", 256);
+
+    /**
+     * Blocks kept in memory by a {@link #lazyRows(TaskQuery)} list.
+     */
+    private static final int LAZY_MAX_BLOCKS = Math.max(4, Integer.getInteger("tasks.ui.lazyBlocks", 8));
+
+    /**
+     * Creates a virtual list of the tasks matching {@code q}, fetched block by block from the
+     * DAO as rows are displayed, instead of loading every task into this view model.
+     * Call {@link LazyTaskList#refresh()} to count the rows.
+     *
+     * @param q filter and ordering of the rows
+     * @return the list (UI thread only)
+     */
+    public LazyTaskList lazyRows(TaskQuery q) {
+        return new LazyTaskList(dao, q, LAZY_BLOCK_SIZE, LAZY_MAX_BLOCKS, io, ui);
+    }
+
+    /**
+     * Counts the tasks matching {@code q} per state, straight from the DAO, for when the tasks
+     * are not loaded (lazy mode). The tasks are streamed page by page, as by
+     * {@link #exportCsvAsync(TaskQuery, String, LongConsumer)}, into a counts-only
+     * {@link ReportVisitor} on a background thread, so one page is in memory at a time and the
+     * UI thread never walks them. The rows themselves are best listed with {@link #lazyRows(TaskQuery)}.
+     *
+     * @param q the tasks to count (ordering and paging are ignored)
+     * @return completes with the report, whose task list is empty, on the UI thread;
+     * cancelling it stops the counting
+     */
+    public CompletableFuture<ReportData> reportAsync(TaskQuery q) {
+        ITaskSource source = source(q.withSort(TaskQuery.SortKey.ID));
+        return onOwnThread("tasks-report", cancelled -> {
+            ReportVisitor v = ReportVisitor.countsOnly();
+            for (ITask t = source.next(); t != null; t = source.next()) {
+                if (cancelled.getAsBoolean()) throw new CancellationException();
+                v.visit(t);
+            }
+            return v.build();
+        }).thenApplyAsync(r -> r, ui);
+    }
+
+    /**
+     * Deletes every task matching {@code q} on the background thread, collecting the IDs
+     * page by page so the matching tasks are never all in memory, then removes them from the view.
+     *
+     * @param q the tasks to delete (ordering and paging are ignored)
+     * @return completes once the tasks are deleted and the view published
+     */
+    public CompletableFuture<Void> deleteMatchingAsync(TaskQuery q) {
+        int[][] ids = new int[1][];
+        return runOnIo(() -> {
+            TaskQuery byId = q.withSort(TaskQuery.SortKey.ID);
+            int[] out = new int[0];
+            int n = 0;
+            ITask[] page;
+            do {
+                page = dao.query(byId.withPage(n, 1_000));
+                if (n + page.length > out.length) out = Arrays.copyOf(out, Math.max(2 * out.length, n + page.length));
+                for (ITask t : page) out[n++] = t.getId();
+            } while (page.length == 1_000);
+            ids[0] = Arrays.copyOf(out, n);
+            dao.deleteTasks(ids[0]);
+        }).thenRunAsync(() -> {
+            removeAll(ids[0]);
+            publish();
+        }, ui);
+    }
+
+    /**
+     * A DAO call run by {@link #runOnIo(DaoAction)}.
+     */
+    @FunctionalInterface
+    private interface DaoAction {
+        void run() throws TasksDAOException;
+    }
+
+    /**
+     * Runs a DAO call on the background thread.
+     */
+    private CompletableFuture<Void> runOnIo(DaoAction action) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                action.run();
+            } catch (TasksDAOException e) {
+                throw new CompletionException(e);
+            }
+        }, io);
+    }
+
+    /**
+     * Starts a reload. A reload superseded by a newer one still counts as success,
+     * since the newer load publishes the change.
+     */
+    private CompletableFuture<Void> reload() {
+        return loadAsync().exceptionally(ex -> {
+            if (ex instanceof CancellationException || ex.getCause() instanceof CancellationException) return null;
+            throw ex instanceof CompletionException ce ? ce : new CompletionException(ex);
+        });
     }
 
     /**
      * Exports the currently visible (filtered+sorted) tasks to CSV.
-     * Uses {@link ReportVisitor} to build a {@link ReportData} snapshot,
-     * then delegates to {@link CsvReportAdapter}.
+     * Streams the published list through {@link StreamingCsvExporter}, without copying it.
+     *
+     * @throws UncheckedIOException if the file cannot be written
      */
     public void exportCsv(String path) {
-        ReportVisitor v = new ReportVisitor();
-        for (ITask t : tasks.getValue()) v.visit(t);
-        new CsvReportAdapter().export(v.build(), path);
+        try {
+            new StreamingCsvExporter().export(ITaskSource.of(tasks.getValue().iterator()),
+                    Path.of(path), n -> {
+                    }, () -> false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (TasksDAOException e) {
+            throw new IllegalStateException(e); // an in-memory source does not fail
+        }
+    }
+
+    /**
+     * Exports the currently visible tasks to CSV on a background thread.
+     * Must be called on the UI thread (it takes the visible list).
+     *
+     * @param path     the target file
+     * @param progress receives the number of rows written so far, on the export thread
+     * @return completes with the number of exported tasks; cancelling it stops the export
+     */
+    public CompletableFuture<Long> exportCsvAsync(String path, LongConsumer progress) {
+        ITaskSource source = ITaskSource.of(tasks.getValue().iterator());
+        return onOwnThread("tasks-export",
+                cancelled -> new StreamingCsvExporter().export(source, Path.of(path), progress, cancelled));
+    }
+
+    /**
+     * Exports the tasks matching {@code q}, in its order, straight from the DAO on a background
+     * thread: one page is in memory at a time, so the export size is not limited by the heap.
+     * Unfiltered ID-ordered exports use keyset pagination ({@link ITasksDAO#openCursor(int)}).
+     *
+     * @param q        the tasks to export (paging is ignored)
+     * @param path     the target file
+     * @param progress receives the number of rows written so far, on the export thread
+     * @return completes with the number of exported tasks; cancelling it stops the export
+     */
+    public CompletableFuture<Long> exportCsvAsync(TaskQuery q, String path, LongConsumer progress) {
+        ITaskSource source = source(q);
+        return onOwnThread("tasks-export",
+                cancelled -> new StreamingCsvExporter().export(source, Path.of(path), progress, cancelled));
+    }
+
+    /**
+     * Returns the tasks matching {@code q}, in its order, fetched from the DAO one page at a time.
+     * Unfiltered ID-ordered sources use keyset pagination ({@link ITasksDAO#openCursor(int)}).
+     */
+    private ITaskSource source(TaskQuery q) {
+        if (q.state() == null && q.titleContains() == null && q.sortKey() == TaskQuery.SortKey.ID) {
+            TaskCursor cur = dao.openCursor(EXPORT_PAGE_SIZE);
+            return () -> cur.hasNext() ? cur.next() : null;
+        } else {
+            return new ITaskSource() {
+                private ITask[] page = new ITask[0];
+                private int pos, offset;
+
+                @Override
+                public ITask next() throws TasksDAOException {
+                    if (pos == page.length) {
+                        if (pos > 0 && pos < EXPORT_PAGE_SIZE) return null; // last page was short
+                        page = dao.query(q.withPage(offset, EXPORT_PAGE_SIZE));
+                        offset += page.length;
+                        pos = 0;
+                        if (page.length == 0) return null;
+                    }
+                    return page[pos++];
+                }
+            };
+        }
+    }
+
+    /**
+     * Tasks fetched per DAO call by exports and by {@link #reportAsync(TaskQuery)}.
+     */
+    private static final int EXPORT_PAGE_SIZE = 1_000;
+
+    /**
+     * A streaming job run by {@link #onOwnThread(String, StreamingJob)}.
+     */
+    @FunctionalInterface
+    private interface StreamingJob<T> {
+        T run(BooleanSupplier cancelled) throws Exception;
     }
 
     /**
-     * Deletes all tasks via DAO, then refreshes the view. OR
-     * Deletes only the tasks that are currently visible (after filter+sort).
+     * Runs a streaming export or report on its own thread, so a long one does not hold up other DAO calls.
+     */
+    private <T> CompletableFuture<T> onOwnThread(String name, StreamingJob<T> job) {
+        CompletableFuture<T> done = new CompletableFuture<>();
+        Thread t = new Thread(() -> {
+            try {
+                done.complete(job.run(done::isCancelled));
+            } catch (CancellationException e) {
+                done.cancel(false);
+            } catch (Exception e) {
+                done.completeExceptionally(e);
+            }
+        }, name);
+        t.setDaemon(true);
+        t.start();
+        return done;
+    }
+
+    /**
+     * Returns the number of visible tasks in each state, in constant time, from the
+     * {@link #getLiveStats() live statistics} (as of the last change delivered on the UI thread).
+     *
+     * @return the counts per state (every state present)
+     */
+    public Map<TaskState, Integer> visibleCounts() {
+        EnumMap<TaskState, Integer> out = new EnumMap<>(TaskState.class);
+        for (TaskState s : TaskState.values()) out.put(s, liveStats.count(s));
+        return out;
+    }
+
+    /**
+     * Returns a {@link ReportData} over the visible tasks from the
+     * {@link #getLiveStats() live statistics}, without re-counting or copying the rows.
+     *
+     * @return the report
+     */
+    public ReportData report() {
+        return liveStats.report();
+    }
+
+    /**
+     * Deletes only the tasks that are currently visible (after filter+sort)
+     * via DAO, then removes them from the view.
      */
     public void deleteVisible() throws TasksDAOException {
-        // tasks.getValue()
-        for (ITask t : tasks.getValue()) {
-            dao.deleteTask(t.getId());
+        int[] ids = visibleIds();
+        dao.deleteTasks(ids); // single batch instead of one call per row
+        removeAll(ids);
+        publish();
+    }
+
+    /**
+     * Removes many tasks by ID in one linear pass over the visible list,
+     * recording each run of removed rows as one edit.
+     */
+    private void removeAll(int[] ids) {
+        dataVersion++;
+        Set<Integer> gone = new HashSet<>(ids.length * 2);
+        for (int id : ids) {
+            if (all.remove(id) != null) gone.add(id);
+            titleIndex.remove(id);
+            byState.remove(id);
+        }
+        ArrayList<ITask> kept = new ArrayList<>(visible.size());
+        List<int[]> runs = new ArrayList<>();
+        int start = -1;
+        for (int k = 0; k < visible.size(); k++) {
+            ITask t = visible.get(k);
+            if (gone.contains(t.getId())) {
+                if (start < 0) start = k;
+            } else {
+                if (start >= 0) runs.add(new int[]{start, k - 1});
+                start = -1;
+                kept.add(t);
+            }
+        }
+        if (start >= 0) runs.add(new int[]{start, visible.size() - 1});
+        ArrayList<ITask> before = visible;
+        visible = kept;
+        for (int k = runs.size() - 1; k >= 0; k--) { // bottom-up, so earlier rows keep their numbers
+            int[] r = runs.get(k);
+            edited(TaskListChange.Kind.DELETED, r[0], r[1], List.copyOf(before.subList(r[0], r[1] + 1)));
+        }
+    }
+
+    /**
+     * Returns the IDs of the currently visible tasks.
+     */
+    private int[] visibleIds() {
+        List<ITask> visible = tasks.getValue();
+        int[] ids = new int[visible.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = visible.get(i).getId();
         }
-        load(); // refresh DB
+        return ids;
     }
 }
@@ -1,6 +1,7 @@
 package il.ac.hit.project.main.viewmodel.combinator;
 
 import il.ac.hit.project.main.model.task.*;
+import il.ac.hit.project.main.viewmodel.index.TitleIndex;
 
 import java.util.function.Predicate;
 
@@ -24,6 +25,21 @@ public final class TaskFilters {
         return t -> t.getTitle() != null && t.getTitle().toLowerCase().contains(s);
     }
 
+    /**
+     * Creates a filter that checks if a task's title contains the given query string,
+     * backed by a {@link TitleIndex}.
+     * <p>
+     * Same result as {@link #byTitleContains(String)}, but the predicate uses the index's
+     * cached lowercase titles instead of lowercasing every title on every evaluation.
+     *
+     * @param q     the query string to search for in the task title
+     * @param index index over the titles of the tasks being filtered
+     * @return a predicate that evaluates to {@code true} if the task's title contains the query
+     */
+    public static Predicate<ITask> byTitleContains(String q, TitleIndex index) {
+        return index.containing(q == null ? "" : q);
+    }
+
     /**
      * Creates a filter that checks if a task is in a specific {@link TaskState}.
      *
@@ -0,0 +1,90 @@
+package il.ac.hit.project.main.viewmodel.index;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.TaskState;
+
+import java.util.*;
+
+/**
+ * Partition of tasks by {@link TaskState}, maintained incrementally.
+ * <p>
+ * Each state maps to the tasks currently in it, so the tasks of one state and the per-state
+ * counts are available without scanning all tasks. The state a task was filed under is
+ * remembered separately, so a task object whose state was changed in place is still moved
+ * correctly by the next {@link #put(ITask)}.
+ * <p>
+ * Not thread-safe; the view model uses it from the UI thread only.
+ */
+public class StatePartition {
+
+    private final EnumMap<TaskState, Map<Integer, ITask>> parts = new EnumMap<>(TaskState.class);
+    private final Map<Integer, TaskState> stateOf = new HashMap<>();
+
+    /**
+     * Creates an empty partition.
+     */
+    public StatePartition() {
+        for (TaskState s : TaskState.values()) parts.put(s, new HashMap<>());
+    }
+
+    /**
+     * Adds a task, or moves it to the partition of its current state.
+     *
+     * @param t the task
+     */
+    public void put(ITask t) {
+        TaskState prev = stateOf.put(t.getId(), t.getState());
+        if (prev != null && prev != t.getState()) parts.get(prev).remove(t.getId());
+        parts.get(t.getState()).put(t.getId(), t);
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param id the task ID
+     */
+    public void remove(int id) {
+        TaskState prev = stateOf.remove(id);
+        if (prev != null) parts.get(prev).remove(id);
+    }
+
+    /**
+     * Removes all tasks.
+     */
+    public void clear() {
+        stateOf.clear();
+        for (Map<Integer, ITask> p : parts.values()) p.clear();
+    }
+
+    /**
+     * @param s the state
+     * @return read-only live view of the tasks in that state, in no particular order
+     */
+    public Collection<ITask> tasks(TaskState s) {
+        return Collections.unmodifiableCollection(parts.get(s).values());
+    }
+
+    /**
+     * @param s the state
+     * @return the number of tasks in that state
+     */
+    public int count(TaskState s) {
+        return parts.get(s).size();
+    }
+
+    /**
+     * @return the number of tasks in all states
+     */
+    public int size() {
+        return stateOf.size();
+    }
+
+    /**
+     * @return the number of tasks in each state (an immutable snapshot)
+     */
+    public Map<TaskState, Integer> counts() {
+        EnumMap<TaskState, Integer> out = new EnumMap<>(TaskState.class);
+        for (TaskState s : TaskState.values()) out.put(s, count(s));
+        return Collections.unmodifiableMap(out);
+    }
+}
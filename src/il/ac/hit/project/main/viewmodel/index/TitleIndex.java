@@ -0,0 +1,199 @@
+package il.ac.hit.project.main.viewmodel.index;
+
+import il.ac.hit.project.main.model.task.ITask;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted trigram index over task titles, for case-insensitive substring search.
+ * <p>
+ * Every lowercased title is split into its overlapping three-character sequences (trigrams);
+ * each trigram maps to the sorted IDs of the tasks whose title contains it. A task whose title
+ * contains a query of three or more characters must contain every trigram of the query, so
+ * intersecting their posting lists yields a small candidate set, which is then verified with
+ * {@link String#contains}. Shorter queries cannot be pruned and fall back to verification only.
+ * <p>
+ * The lowercased title of every indexed task is cached, so verifying a task allocates nothing.
+ * The index is maintained incrementally with {@link #put(ITask)} and {@link #remove(int)}.
+ * It is thread-safe: writers and candidate lookups synchronize on the index, while the cached
+ * titles are read without locking.
+ */
+public class TitleIndex {
+
+    /**
+     * Cached title of an indexed task: the original reference (to detect stale entries) and its lowercase form.
+     */
+    private record Entry(String title, String lower) {
+    }
+
+    private final ConcurrentHashMap<Integer, Entry> titles = new ConcurrentHashMap<>();
+    private final HashMap<Long, Postings> postings = new HashMap<>(); // guarded by this
+
+    /**
+     * Adds a task to the index, or re-indexes it if its title changed.
+     *
+     * @param t the task
+     */
+    public synchronized void put(ITask t) {
+        Entry old = titles.get(t.getId());
+        if (old != null) {
+            if (Objects.equals(old.title(), t.getTitle())) { // title unchanged: keep postings, track new reference
+                if (old.title() != t.getTitle()) titles.put(t.getId(), new Entry(t.getTitle(), old.lower()));
+                return;
+            }
+            unindex(t.getId(), old.lower());
+        }
+        String lower = t.getTitle() == null ? "" : t.getTitle().toLowerCase();
+        titles.put(t.getId(), new Entry(t.getTitle(), lower));
+        for (long g : trigrams(lower)) postings.computeIfAbsent(g, k -> new Postings()).add(t.getId());
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id the task ID
+     */
+    public synchronized void remove(int id) {
+        Entry old = titles.remove(id);
+        if (old == null) return;
+        unindex(id, old.lower());
+    }
+
+    /**
+     * Removes all tasks from the index.
+     */
+    public synchronized void clear() {
+        titles.clear();
+        postings.clear();
+    }
+
+    /**
+     * Returns the IDs of the tasks whose title may contain {@code lowerQuery}: every task containing
+     * it is included, but a candidate still has to be verified.
+     *
+     * @param lowerQuery the lowercased query
+     * @return sorted candidate IDs, or {@code null} if the query is too short to use the index
+     */
+    public synchronized int[] candidates(String lowerQuery) {
+        long[] grams = trigrams(lowerQuery);
+        if (grams.length == 0) return null;
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return new int[0]; // some trigram occurs in no title
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int n = result.length;
+        for (int i = 1; i < lists.length && n > 0; i++) {
+            int m = 0;
+            for (int k = 0; k < n; k++) {
+                if (lists[i].contains(result[k])) result[m++] = result[k];
+            }
+            n = m;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Tells whether a task's title contains {@code lowerQuery}, using the cached lowercase title
+     * when it is still current.
+     *
+     * @param t          the task
+     * @param lowerQuery the lowercased query
+     * @return {@code true} if the title contains the query
+     */
+    public boolean titleContains(ITask t, String lowerQuery) {
+        if (t.getTitle() == null) return false;
+        Entry e = titles.get(t.getId());
+        String lower = (e != null && e.title() == t.getTitle()) ? e.lower() : t.getTitle().toLowerCase();
+        return lower.contains(lowerQuery);
+    }
+
+    /**
+     * Returns a predicate matching tasks whose title contains {@code query}, case-insensitively.
+     * <p>
+     * The predicate checks each task against its cached lowercase title (or lowercases the title
+     * of a task that is not indexed, or whose title changed since). It never resolves posting
+     * lists, so testing a task costs the same however often the index changes, e.g. while a page
+     * of tasks is indexed and filtered one task at a time. To prune a whole search, start it from
+     * {@link #candidates(String)}.
+     *
+     * @param query the substring to search for
+     * @return the predicate
+     */
+    public Predicate<ITask> containing(String query) {
+        String q = query == null ? "" : query.toLowerCase();
+        return t -> titleContains(t, q);
+    }
+
+    /**
+     * @return the number of indexed tasks
+     */
+    public int size() {
+        return titles.size();
+    }
+
+    private void unindex(int id, String lower) {
+        for (long g : trigrams(lower)) {
+            Postings p = postings.get(g);
+            if (p != null && p.remove(id) && p.size == 0) postings.remove(g);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a string, each packed into a {@code long} (three UTF-16 chars).
+     */
+    private static long[] trigrams(String s) {
+        if (s.length() < 3) return new long[0];
+        long[] g = new long[s.length() - 2];
+        for (int i = 0; i < g.length; i++) {
+            g[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        Arrays.sort(g);
+        int n = 1;
+        for (int i = 1; i < g.length; i++) {
+            if (g[i] != g[n - 1]) g[n++] = g[i];
+        }
+        return n == g.length ? g : Arrays.copyOf(g, n);
+    }
+
+    /**
+     * A growable, sorted list of task IDs.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) { // usually IDs arrive in ascending order
+                int i = Arrays.binarySearch(ids, 0, size, id);
+                if (i >= 0) return;
+                insertAt(-i - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) return false;
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insertAt(int i, int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            ids[i] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dao;
+
+import il.ac.hit.project.main.model.dao.ConnectionPool;
+import il.ac.hit.project.main.model.dao.PoolConfig;
+import il.ac.hit.project.main.model.dao.PoolStats;
+import il.ac.hit.project.main.model.dao.PooledConnection;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ConnectionPool}.
+ * <p>
+ * Uses an in-memory Derby database so the tests do not touch the real task store.
+ */
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:derby:memory:poolTestDB;create=true";
+
+    /**
+     * Verifies that a returned connection is reused instead of opening a new one,
+     * and that the statistics reflect borrowed and idle connections.
+     *
+     * @throws SQLException if the pool fails
+     */
+    @Test
+    void reusesReturnedConnection() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(URL, new PoolConfig(1, 2, 0, 1_000, 1, 8))) {
+            Connection first;
+            try (PooledConnection c = pool.borrow()) {
+                first = c.connection();
+                assertEquals(1, pool.stats().active());
+            }
+            try (PooledConnection c = pool.borrow()) {
+                assertSame(first, c.connection());
+            }
+
+            PoolStats st = pool.stats();
+            assertEquals(0, st.active());
+            assertEquals(1, st.idle());
+            assertEquals(1, st.open());
+            assertEquals(2, st.borrowCount());
+        }
+    }
+
+    /**
+     * Verifies that borrowing beyond {@code maxSize} fails after the timeout
+     * and is counted as a timeout.
+     *
+     * @throws SQLException if the pool fails unexpectedly
+     */
+    @Test
+    void exhaustedPoolTimesOut() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(URL, new PoolConfig(0, 1, 0, 50, 1, 8));
+             PooledConnection held = pool.borrow()) {
+            assertNotNull(held.connection());
+            assertThrows(SQLException.class, pool::borrow);
+            assertEquals(1, pool.stats().timeoutCount());
+        }
+    }
+
+    /**
+     * Verifies that an unfinished transaction is rolled back and auto-commit
+     * restored when the connection goes back to the pool.
+     *
+     * @throws SQLException if the pool fails
+     */
+    @Test
+    void resetsTransactionOnReturn() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(URL, new PoolConfig(1, 1, 0, 1_000, 1, 8))) {
+            try (PooledConnection c = pool.borrow()) {
+                c.connection().setAutoCommit(false);
+            }
+            try (PooledConnection c = pool.borrow()) {
+                assertTrue(c.connection().getAutoCommit());
+            }
+        }
+    }
+
+    /**
+     * Verifies that the same SQL on the same connection is served from the
+     * prepared-statement cache and counted as a hit.
+     *
+     * @throws SQLException if the pool fails
+     */
+    @Test
+    void cachesPreparedStatements() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(URL, new PoolConfig(1, 1, 0, 1_000, 1, 8))) {
+            PreparedStatement first;
+            try (PooledConnection c = pool.borrow()) {
+                first = c.prepareCached("VALUES 1");
+            }
+            try (PooledConnection c = pool.borrow()) {
+                assertSame(first, c.prepareCached("VALUES 1"));
+            }
+
+            PoolStats st = pool.stats();
+            assertEquals(1, st.statementHits());
+            assertEquals(1, st.statementMisses());
+        }
+    }
+}
@@ -2,12 +2,16 @@ package dao;
 
 import il.ac.hit.project.main.model.dao.ITasksDAO;
 import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.dao.TaskQuery;
+import il.ac.hit.project.main.model.dao.TaskTokens;
 import il.ac.hit.project.main.model.dao.TasksDAODerby;
 import il.ac.hit.project.main.model.task.ITask;
 import il.ac.hit.project.main.model.task.Task;
 import il.ac.hit.project.main.model.task.TaskState;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -66,4 +70,116 @@ public class DerbyTasksDAOTest {
         ITask loaded = dao.getTask(task.getId());
         assertEquals(TaskState.Completed, loaded.getState());
     }
+
+    /**
+     * Verifies that a batch insert assigns generated IDs to every task
+     * and that a batch delete removes all of them.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void testBatchAddAndDelete() throws TasksDAOException {
+        ITasksDAO dao = TasksDAODerby.getInstance();
+        Task a = new Task(0, "Batch A", "first", TaskState.ToDo);
+        Task b = new Task(0, "Batch B", "second", TaskState.Completed);
+        dao.addTasks(List.of(a, b));
+
+        assertTrue(a.getId() > 0);
+        assertTrue(b.getId() > a.getId());
+        assertEquals("Batch B", dao.getTask(b.getId()).getTitle());
+
+        dao.deleteTasks(new int[]{a.getId(), b.getId()});
+        assertNull(dao.getTask(a.getId()));
+        assertNull(dao.getTask(b.getId()));
+    }
+
+    /**
+     * Verifies that keyset pagination returns tasks after the given ID,
+     * in ID order and limited to the requested page size.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void testGetTasksAfter() throws TasksDAOException {
+        ITasksDAO dao = TasksDAODerby.getInstance();
+        Task a = new Task(0, "Page A", "a", TaskState.ToDo);
+        Task b = new Task(0, "Page B", "b", TaskState.ToDo);
+        Task c = new Task(0, "Page C", "c", TaskState.ToDo);
+        dao.addTasks(List.of(a, b, c));
+
+        ITask[] page = dao.getTasksAfter(a.getId() - 1, 2);
+        assertEquals(2, page.length);
+        assertEquals(a.getId(), page[0].getId());
+        assertEquals(b.getId(), page[1].getId());
+
+        ITask[] next = dao.getTasksAfter(b.getId(), 2);
+        assertEquals(c.getId(), next[0].getId());
+
+        dao.deleteTasks(new int[]{a.getId(), b.getId(), c.getId()});
+    }
+
+    /**
+     * Verifies that a {@link TaskQuery} is filtered by state and title,
+     * ordered by title and paged by the database.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void testQueryFilterSortAndPage() throws TasksDAOException {
+        ITasksDAO dao = TasksDAODerby.getInstance();
+        String tag = "qprobe" + System.nanoTime();
+        Task b = new Task(0, "B " + tag, "b", TaskState.ToDo);
+        Task a = new Task(0, "A " + tag.toUpperCase(), "a", TaskState.ToDo);
+        Task done = new Task(0, "C " + tag, "c", TaskState.Completed);
+        dao.addTasks(List.of(b, a, done));
+
+        TaskQuery q = TaskQuery.all()
+                .withState(TaskState.ToDo)
+                .withTitleContains(tag)
+                .withSort(TaskQuery.SortKey.TITLE);
+        assertEquals(2, dao.count(q));
+
+        ITask[] page = dao.query(q.withPage(0, 1));
+        assertEquals(1, page.length);
+        assertEquals(a.getId(), page[0].getId());
+        assertEquals(b.getId(), dao.query(q.withPage(1, 1))[0].getId());
+
+        dao.deleteTasks(new int[]{a.getId(), b.getId(), done.getId()});
+    }
+
+    /**
+     * Verifies that a multi-term search matches word prefixes in titles and descriptions,
+     * follows updates and deletes, and agrees with the in-memory evaluation.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void testSearchTitlesAndDescriptions() throws TasksDAOException {
+        ITasksDAO dao = TasksDAODerby.getInstance();
+        String tag = "sprobe" + System.nanoTime();
+        Task a = new Task(0, "Quarterly " + tag, "Send the budget to finance", TaskState.ToDo);
+        Task b = new Task(0, "Budget review", "Owner: " + tag.toUpperCase(), TaskState.InProgress);
+        Task c = new Task(0, "Unrelated " + tag, "nothing here", TaskState.Completed);
+        dao.addTasks(List.of(a, b, c));
+
+        ITask[] hits = dao.search(tag + " budg");
+        assertEquals(2, hits.length);
+        assertEquals(a.getId(), hits[0].getId());
+        assertEquals(b.getId(), hits[1].getId());
+        for (ITask t : new ITask[]{a, b, c}) {
+            boolean found = List.of(hits).stream().anyMatch(h -> h.getId() == t.getId());
+            assertEquals(TaskTokens.matcher(tag + " budg").test(t), found);
+        }
+
+        c.setDescription("budgeting later");
+        dao.updateTask(c);
+        dao.deleteTask(a.getId());
+        hits = dao.search("BUDG, " + tag);
+        assertEquals(2, hits.length);
+        assertEquals(b.getId(), hits[0].getId());
+        assertEquals(c.getId(), hits[1].getId());
+
+        dao.deleteTasks(new int[]{b.getId(), c.getId()});
+        assertEquals(0, dao.search(tag).length);
+    }
 }
@@ -0,0 +1,144 @@
+package dao;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.FsyncPolicy;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.dao.WriteBehindConfig;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FileTasksDAO}.
+ * <p>
+ * Each test works on its own CSV file in a temporary directory.
+ */
+public class FileTasksDAOTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that in write-behind mode changes are visible in memory at once,
+     * reach the file only when flushed, and survive a reopen.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void writeBehindDefersAndFlushes() throws TasksDAOException {
+        File csv = new File(dir, "tasks.csv");
+        WriteBehindConfig cfg = new WriteBehindConfig(true, 60_000, 1_000, FsyncPolicy.PER_BATCH);
+        try (FileTasksDAO dao = new FileTasksDAO(csv, cfg)) {
+            for (int i = 0; i < 10; i++) dao.addTask(new Task(0, "T" + i, "d", TaskState.ToDo));
+            dao.deleteTask(1);
+            assertEquals(9, dao.getTasks().length);
+            assertFalse(csv.exists()); // still queued
+
+            dao.flush();
+            assertTrue(csv.exists());
+            assertEquals(9, new FileTasksDAO(csv).getTasks().length);
+
+            dao.addTask(new Task(0, "Last", "d", TaskState.ToDo));
+        } // close() flushes
+        assertEquals(10, new FileTasksDAO(csv).getTasks().length);
+    }
+
+    /**
+     * Verifies that a failed background write is reported by the next flush, once,
+     * and that the changes are written when the file becomes writable again.
+     * The write's temp file is blocked by a directory of the same name.
+     *
+     * @throws Exception if the DAO operation fails unexpectedly
+     */
+    @Test
+    void failedBackgroundWriteIsReportedByFlush() throws Exception {
+        File csv = new File(dir, "tasks.csv");
+        File keep = new File(new File(dir, "tasks.csv.tmp"), "keep");
+        assertTrue(keep.mkdirs());
+        WriteBehindConfig cfg = new WriteBehindConfig(true, 60_000, 1, FsyncPolicy.NONE);
+        try (FileTasksDAO dao = new FileTasksDAO(csv, cfg)) {
+            dao.addTask(new Task(0, "A", "a", TaskState.ToDo)); // full batch: written (and failing) at once
+            assertThrows(TasksDAOException.class, dao::flush);
+
+            assertTrue(keep.delete() && keep.getParentFile().delete());
+            dao.flush(); // the retry succeeds and the failure was already reported
+            assertEquals(1, new FileTasksDAO(csv).getTasks().length);
+        }
+    }
+
+    /**
+     * Verifies that reaching {@code maxBatch} pending changes triggers a write
+     * without waiting for the flush delay.
+     *
+     * @throws Exception if the DAO operation fails
+     */
+    @Test
+    void fullBatchIsWrittenEarly() throws Exception {
+        File csv = new File(dir, "tasks.csv");
+        WriteBehindConfig cfg = new WriteBehindConfig(true, 60_000, 3, FsyncPolicy.NONE);
+        try (FileTasksDAO dao = new FileTasksDAO(csv, cfg)) {
+            for (int i = 0; i < 3; i++) dao.addTask(new Task(0, "T" + i, "d", TaskState.ToDo));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!csv.exists() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            assertTrue(csv.exists());
+        }
+    }
+
+    /**
+     * Verifies that readers running in parallel with writers see consistent,
+     * ID-ordered data and that no change is lost.
+     *
+     * @throws Exception if a reader or writer fails
+     */
+    @Test
+    void concurrentReadersAndWriters() throws Exception {
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv"),
+                new WriteBehindConfig(true, 5, 64, FsyncPolicy.NONE));
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> jobs = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                jobs.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) dao.addTask(new Task(0, "T" + i, "d", TaskState.ToDo));
+                    return null;
+                }));
+            }
+            for (int r = 0; r < 4; r++) {
+                jobs.add(pool.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        int prev = 0;
+                        for (var t : dao.getTasksAfter(0, 10_000)) {
+                            assertTrue(t.getId() > prev);
+                            prev = t.getId();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : jobs) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown();
+            dao.close();
+        }
+        assertEquals(1_000, dao.getTasks().length);
+        assertEquals(1_000, new FileTasksDAO(new File(dir, "tasks.csv")).getTasks().length);
+    }
+
+    /**
+     * Verifies that a missing fsync policy means no forcing, the same default as
+     * {@link WriteBehindConfig#synchronous()}.
+     */
+    @Test
+    void nullFsyncDefaultsToNone() {
+        assertEquals(FsyncPolicy.NONE, new WriteBehindConfig(true, 10, 1, null).fsync());
+        assertEquals(WriteBehindConfig.synchronous().fsync(), new WriteBehindConfig(false, 10, 1, null).fsync());
+    }
+}
@@ -0,0 +1,156 @@
+package dao;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.FsyncPolicy;
+import il.ac.hit.project.main.model.dao.LogTasksDAO;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LogTasksDAO}.
+ * <p>
+ * Each test works on its own log file in a temporary directory.
+ */
+public class LogTasksDAOTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that adds, updates and deletes survive a reopen of the log.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void replaysLogOnReopen() throws TasksDAOException {
+        File log = new File(dir, "tasks.log");
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            Task a = new Task(0, "A", "line1\nline2, with comma", TaskState.ToDo);
+            dao.addTask(a);
+            dao.addTask(new Task(0, "B", null, TaskState.ToDo));
+            a.setState(TaskState.Completed);
+            dao.updateTask(a);
+            dao.deleteTask(2);
+        }
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            ITask[] all = dao.getTasks();
+            assertEquals(1, all.length);
+            assertEquals("line1\nline2, with comma", all[0].getDescription());
+            assertEquals(TaskState.Completed, all[0].getState());
+
+            Task c = new Task(0, "C", "c", TaskState.ToDo);
+            dao.addTask(c);
+            assertEquals(3, c.getId()); // IDs are not reused after a delete
+        }
+    }
+
+    /**
+     * Verifies that a record cut short by a crash is dropped and the rest of the log kept.
+     *
+     * @throws Exception if the DAO or file operation fails
+     */
+    @Test
+    void toleratesTornLastRecord() throws Exception {
+        File log = new File(dir, "tasks.log");
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            dao.addTask(new Task(0, "A", "a", TaskState.ToDo));
+            dao.addTask(new Task(0, "B", "b", TaskState.ToDo));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            assertEquals(1, dao.getTasks().length);
+            dao.addTask(new Task(0, "C", "c", TaskState.ToDo));
+        }
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            assertEquals(2, dao.getTasks().length);
+        }
+    }
+
+    /**
+     * Verifies that compaction drops dead records and keeps the current state.
+     *
+     * @throws Exception if the DAO operation fails
+     */
+    @Test
+    void compactionKeepsLiveTasks() throws Exception {
+        File log = new File(dir, "tasks.log");
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 10; i++) tasks.add(new Task(0, "T" + i, "d", TaskState.ToDo));
+            dao.addTasks(tasks);
+            for (int round = 0; round < 5; round++) dao.updateTasks(tasks);
+            dao.deleteTask(1);
+            long before = log.length();
+
+            dao.compact();
+            assertEquals(0, dao.deadRecords());
+            assertTrue(log.length() < before);
+        }
+        try (LogTasksDAO dao = new LogTasksDAO(log, null)) {
+            assertEquals(9, dao.getTasks().length);
+            assertEquals(2, dao.getTasks()[0].getId());
+        }
+    }
+
+    /**
+     * Verifies that a failed background compaction keeps the log usable and is reported by close.
+     * The compaction's temp file is blocked by a directory of the same name.
+     *
+     * @throws Exception if the DAO operation fails unexpectedly
+     */
+    @Test
+    void failedBackgroundCompactionIsReported() throws Exception {
+        File log = new File(dir, "tasks.log");
+        File blocker = new File(dir, "tasks.log.tmp");
+        assertTrue(new File(blocker, "keep").mkdirs());
+
+        LogTasksDAO dao = new LogTasksDAO(log, null, FsyncPolicy.PER_WRITE);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) tasks.add(new Task(0, "T" + i, "d", TaskState.ToDo));
+        dao.addTasks(tasks);
+        for (int round = 0; round < 110; round++) dao.updateTasks(tasks); // > MIN_DEAD_FOR_COMPACTION dead
+        dao.deleteTask(1);
+
+        TasksDAOException e = assertThrows(TasksDAOException.class, dao::close);
+        assertEquals("compact log", e.getMessage());
+        try (LogTasksDAO reopened = new LogTasksDAO(log, null)) {
+            assertEquals(9, reopened.getTasks().length);
+        }
+    }
+
+    /**
+     * Verifies that the legacy CSV file is imported, with its IDs, when the log does not exist yet.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     * @throws IOException       if the CSV file cannot be written
+     */
+    @Test
+    void importsLegacyCsv() throws TasksDAOException, IOException {
+        File csv = new File(dir, "tasks.csv");
+        FileTasksDAO legacy = new FileTasksDAO(csv);
+        legacy.addTask(new Task(0, "Old", "o", TaskState.InProgress));
+        legacy.addTask(new Task(0, "Older", "o", TaskState.ToDo));
+        legacy.deleteTask(1);
+
+        try (LogTasksDAO dao = new LogTasksDAO(new File(dir, "tasks.log"), csv)) {
+            ITask[] all = dao.getTasks();
+            assertEquals(1, all.length);
+            assertEquals(2, all[0].getId());
+            assertEquals("Older", all[0].getTitle());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dao;
+
+import il.ac.hit.project.main.model.dao.BinaryTaskFile;
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.MappedTasksDAO;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MappedTasksDAO} and the {@link BinaryTaskFile} format.
+ * <p>
+ * Each test works on its own files in a temporary directory.
+ */
+public class MappedTasksDAOTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that changes are written to the binary file and read back after a reopen,
+     * including text with commas, line breaks and {@code null}s.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void roundTripsThroughBinaryFile() throws TasksDAOException {
+        Path bin = new File(dir, "tasks.bin").toPath();
+        MappedTasksDAO dao = new MappedTasksDAO(bin, null);
+        Task a = new Task(0, "A, with comma", "multi\nline", TaskState.ToDo);
+        dao.addTasks(List.of(a, new Task(0, "B", null, TaskState.InProgress), new Task(0, "C", "c", TaskState.ToDo)));
+        a.setState(TaskState.Completed);
+        dao.updateTask(a);
+        dao.deleteTask(2);
+
+        MappedTasksDAO reopened = new MappedTasksDAO(bin, null);
+        ITask[] all = reopened.getTasks();
+        assertEquals(2, all.length);
+        assertEquals("A, with comma", all[0].getTitle());
+        assertEquals("multi\nline", all[0].getDescription());
+        assertEquals(TaskState.Completed, all[0].getState());
+        assertEquals(3, reopened.getTasksAfter(1, 10)[0].getId());
+        assertNull(reopened.getTask(2));
+
+        Task d = new Task(0, "D", "d", TaskState.ToDo);
+        reopened.addTask(d);
+        assertEquals(4, d.getId()); // IDs are not reused after a delete
+    }
+
+    /**
+     * Verifies that many changes in a row go to the change log without rewriting the binary file,
+     * and that reopening merges the log into the file with every change applied.
+     *
+     * @throws Exception if the DAO operation fails
+     */
+    @Test
+    void changesAreLoggedAndMergedOnReopen() throws Exception {
+        Path bin = new File(dir, "tasks.bin").toPath();
+        File deltaFile = new File(dir, "tasks.bin.delta");
+        try (MappedTasksDAO dao = new MappedTasksDAO(bin, null)) {
+            dao.addTasks(List.of(new Task(0, "A", "a", TaskState.ToDo), new Task(0, "B", "b", TaskState.ToDo)));
+        }
+        try (MappedTasksDAO dao = new MappedTasksDAO(bin, null)) {
+            assertEquals(8, deltaFile.length()); // merged: only the log header is left
+            long binSize = Files.size(bin);
+            long binModified = Files.getLastModifiedTime(bin).toMillis();
+
+            for (int i = 0; i < 20; i++) dao.addTask(new Task(0, "T" + i, "t", TaskState.ToDo));
+            dao.updateTask(new Task(1, "A2", "a", TaskState.Completed));
+            dao.deleteTask(2);
+            dao.deleteTask(22); // the last one added
+            dao.updateTask(new Task(99, "Ghost", "g", TaskState.ToDo)); // unknown: ignored
+
+            assertEquals(binSize, Files.size(bin));
+            assertEquals(binModified, Files.getLastModifiedTime(bin).toMillis());
+            assertEquals(20, dao.getTasks().length);
+            assertEquals("A2", dao.getTask(1).getTitle());
+            assertNull(dao.getTask(2));
+            assertEquals(3, dao.getTasksAfter(1, 1)[0].getId());
+        }
+        try (MappedTasksDAO dao = new MappedTasksDAO(bin, null)) {
+            assertEquals(8, deltaFile.length());
+            ITask[] all = dao.getTasks();
+            assertEquals(20, all.length);
+            assertEquals(TaskState.Completed, all[0].getState());
+            assertEquals(21, all[all.length - 1].getId());
+            Task next = new Task(0, "N", "n", TaskState.ToDo);
+            dao.addTask(next);
+            assertEquals(23, next.getId()); // the deleted ID 22 is not reused
+
+            dao.deleteTasks();
+            assertEquals(0, dao.getTasks().length);
+            dao.addTask(new Task(0, "Z", "z", TaskState.ToDo));
+        }
+        try (MappedTasksDAO dao = new MappedTasksDAO(bin, null)) {
+            ITask[] all = dao.getTasks();
+            assertEquals(1, all.length);
+            assertEquals(24, all[0].getId());
+        }
+    }
+
+    /**
+     * Verifies that a change-log record torn by a crash is dropped and the earlier ones are kept.
+     *
+     * @throws Exception if the DAO operation fails
+     */
+    @Test
+    void toleratesTornLogRecord() throws Exception {
+        Path bin = new File(dir, "tasks.bin").toPath();
+        File deltaFile = new File(dir, "tasks.bin.delta");
+        MappedTasksDAO dao = new MappedTasksDAO(bin, null);
+        dao.addTask(new Task(0, "Kept", "k", TaskState.ToDo));
+        dao.addTask(new Task(0, "Torn", "t", TaskState.ToDo));
+        dao.close();
+        try (RandomAccessFile raf = new RandomAccessFile(deltaFile, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        try (MappedTasksDAO reopened = new MappedTasksDAO(bin, null)) {
+            ITask[] all = reopened.getTasks();
+            assertEquals(1, all.length);
+            assertEquals("Kept", all[0].getTitle());
+        }
+    }
+
+    /**
+     * Verifies the one-shot conversion from the legacy CSV file.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void convertsLegacyCsv() throws TasksDAOException {
+        File csv = new File(dir, "tasks.csv");
+        FileTasksDAO legacy = new FileTasksDAO(csv);
+        legacy.addTask(new Task(0, "Old", "o", TaskState.InProgress));
+        legacy.addTask(new Task(0, "Older", "o", TaskState.ToDo));
+
+        BinaryTaskFile f = BinaryTaskFile.convertCsv(csv, new File(dir, "tasks.bin").toPath());
+        assertEquals(2, f.size());
+        assertEquals("Older", f.get(f.indexOf(2)).getTitle());
+        assertEquals(TaskState.InProgress, f.get(0).getState());
+    }
+}
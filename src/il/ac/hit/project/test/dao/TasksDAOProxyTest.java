@@ -0,0 +1,316 @@
+package dao;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.ITasksDAO;
+import il.ac.hit.project.main.model.dao.LogTasksDAO;
+import il.ac.hit.project.main.model.dao.MappedTasksDAO;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.dao.TasksDAODerby;
+import il.ac.hit.project.main.model.dao.TasksDAOProxy;
+import il.ac.hit.project.main.model.dao.cache.CacheStats;
+import il.ac.hit.project.main.model.dao.cache.EntryLimitPolicy;
+import il.ac.hit.project.main.model.dao.cache.WeightLimitPolicy;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TasksDAOProxy}.
+ * <p>
+ * The proxy wraps an in-memory DAO that counts how often it is read,
+ * so the tests can check when the cache is used and when it is bypassed.
+ */
+public class TasksDAOProxyTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Minimal in-memory DAO that counts read calls.
+     */
+    private static class CountingDAO implements ITasksDAO {
+        final TreeMap<Integer, ITask> rows = new TreeMap<>();
+        int reads;
+        int nextId;
+        boolean failWrites;
+
+        public ITask[] getTasks() {
+            reads++;
+            return rows.values().toArray(new ITask[0]);
+        }
+
+        public ITask getTask(int id) {
+            reads++;
+            return rows.get(id);
+        }
+
+        public ITask[] getTasksAfter(int lastId, int limit) {
+            reads++;
+            return rows.tailMap(lastId, false).values().stream().limit(limit).toArray(ITask[]::new);
+        }
+
+        public void addTask(ITask task) throws TasksDAOException {
+            if (failWrites) throw new TasksDAOException("add");
+            ((Task) task).setId(++nextId);
+            rows.put(task.getId(), task);
+        }
+
+        public void updateTask(ITask task) throws TasksDAOException {
+            if (failWrites) throw new TasksDAOException("update");
+            rows.replace(task.getId(), task); // unknown IDs are ignored, as by the real DAOs
+        }
+
+        public void deleteTasks() {
+            rows.clear();
+        }
+
+        public void deleteTask(int id) {
+            rows.remove(id);
+        }
+
+        public void addTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+            for (ITask t : tasks) addTask(t);
+        }
+
+        public void updateTasks(Collection<? extends ITask> tasks) throws TasksDAOException {
+            for (ITask t : tasks) updateTask(t);
+        }
+
+        public void deleteTasks(int[] ids) {
+            for (int id : ids) rows.remove(id);
+        }
+    }
+
+    /**
+     * Verifies that after a full load, single-row changes are applied to the cache
+     * in place and later reads do not touch the underlying DAO.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void writeThroughKeepsCacheWarm() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        TasksDAOProxy proxy = new TasksDAOProxy(inner);
+        proxy.addTask(new Task(0, "A", "a", TaskState.ToDo));
+        proxy.getTasks();
+        int readsAfterLoad = inner.reads;
+
+        Task b = new Task(0, "B", "b", TaskState.ToDo);
+        proxy.addTask(b);
+        b.setState(TaskState.Completed);
+        proxy.updateTask(b);
+        proxy.deleteTask(1);
+
+        ITask[] all = proxy.getTasks();
+        assertEquals(readsAfterLoad, inner.reads);
+        assertEquals(1, all.length);
+        assertEquals(TaskState.Completed, all[0].getState());
+    }
+
+    /**
+     * Verifies that updating an ID the DAO does not hold does not add it to a complete cache.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void updateOfUnknownIdAddsNoRow() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        TasksDAOProxy proxy = new TasksDAOProxy(inner);
+        proxy.addTask(new Task(0, "A", "a", TaskState.ToDo));
+        proxy.getTasks();
+
+        proxy.updateTask(new Task(42, "Ghost", "g", TaskState.ToDo));
+        proxy.updateTasks(List.of(new Task(43, "Ghost", "g", TaskState.ToDo)));
+
+        assertEquals(1, proxy.getTasks().length);
+        assertNull(proxy.getTask(42));
+    }
+
+    /**
+     * Verifies, against every real DAO, that updating an unknown ID neither stores the task
+     * nor caches it, and that a later add does not reuse the ID.
+     *
+     * @throws Exception if a DAO operation fails
+     */
+    @Test
+    void unknownIdUpdatesAreIgnoredByEveryBackend() throws Exception {
+        ITasksDAO[] backends = {
+                new FileTasksDAO(new File(dir, "tasks.csv")),
+                new LogTasksDAO(new File(dir, "tasks.log"), null),
+                new MappedTasksDAO(new File(dir, "tasks.bin").toPath(), null),
+                TasksDAODerby.getInstance()
+        };
+        for (ITasksDAO inner : backends) {
+            String name = inner.getClass().getSimpleName();
+            TasksDAOProxy proxy = new TasksDAOProxy(inner);
+            Task a = new Task(0, "A", "a", TaskState.ToDo);
+            proxy.addTask(a);
+            int rows = proxy.getTasks().length;
+            int ghost = a.getId() + 1;
+
+            proxy.updateTask(new Task(ghost, "Ghost", "g", TaskState.ToDo));
+            proxy.updateTasks(List.of(new Task(ghost + 1, "Ghost", "g", TaskState.ToDo)));
+            assertNull(inner.getTask(ghost), name);
+            assertNull(inner.getTask(ghost + 1), name);
+            assertEquals(rows, inner.getTasks().length, name);
+            assertEquals(rows, proxy.getTasks().length, name);
+
+            Task b = new Task(0, "B", "b", TaskState.ToDo);
+            proxy.addTask(b);
+            assertEquals("B", inner.getTask(b.getId()).getTitle(), name);
+            proxy.updateTask(new Task(a.getId(), "A2", "a", TaskState.Completed));
+            assertEquals("A2", inner.getTask(a.getId()).getTitle(), name);
+            assertEquals("A2", proxy.getTask(a.getId()).getTitle(), name);
+            if (inner instanceof AutoCloseable c) c.close();
+        }
+    }
+
+    /**
+     * Verifies that a failed write drops the cache, so the next read reloads.
+     *
+     * @throws TasksDAOException if the DAO operation fails unexpectedly
+     */
+    @Test
+    void failedWriteFallsBackToReload() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        TasksDAOProxy proxy = new TasksDAOProxy(inner);
+        proxy.getTasks();
+
+        inner.failWrites = true;
+        assertThrows(TasksDAOException.class, () -> proxy.addTask(new Task(0, "X", "x", TaskState.ToDo)));
+
+        int reads = inner.reads;
+        proxy.getTasks();
+        assertEquals(reads + 1, inner.reads);
+    }
+    /**
+     * Verifies that a single-row lookup on a cold cache does not make
+     * {@link TasksDAOProxy#getTasks()} return a partial result.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void singleLookupDoesNotHideOtherRows() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        inner.addTasks(java.util.List.of(
+                new Task(0, "A", "a", TaskState.ToDo),
+                new Task(0, "B", "b", TaskState.ToDo)));
+        TasksDAOProxy proxy = new TasksDAOProxy(inner);
+
+        assertNotNull(proxy.getTask(1));
+        assertEquals(2, proxy.getTasks().length);
+    }
+
+    /**
+     * Verifies that a sequential page scan from ID 0 completes the cache and
+     * that {@link TasksDAOProxy#getTasks()} then returns the same snapshot
+     * array until the cached contents change.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void pageScanCompletesCacheAndSnapshotIsReused() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        inner.addTasks(java.util.List.of(
+                new Task(0, "A", "a", TaskState.ToDo),
+                new Task(0, "B", "b", TaskState.ToDo),
+                new Task(0, "C", "c", TaskState.ToDo)));
+        TasksDAOProxy proxy = new TasksDAOProxy(inner);
+
+        assertEquals(2, proxy.getTasksAfter(0, 2).length);
+        assertEquals(1, proxy.getTasksAfter(2, 2).length); // short page ends the scan
+        int reads = inner.reads;
+
+        ITask[] first = proxy.getTasks();
+        assertSame(first, proxy.getTasks());
+        assertEquals(reads, inner.reads);
+
+        proxy.deleteTask(2);
+        ITask[] second = proxy.getTasks();
+        assertNotSame(first, second);
+        assertEquals(2, second.length);
+        assertEquals(3, proxy.getTasksAfter(1, 10)[0].getId());
+    }
+
+    /**
+     * Verifies that an entry-bounded cache evicts least recently used tasks, stops
+     * treating itself as complete, and still answers every read correctly.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void boundedCacheEvictsAndStaysCorrect() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        TasksDAOProxy proxy = new TasksDAOProxy(inner, new EntryLimitPolicy(2));
+        proxy.addTasks(java.util.List.of(
+                new Task(0, "A", "a", TaskState.ToDo),
+                new Task(0, "B", "b", TaskState.ToDo),
+                new Task(0, "C", "c", TaskState.ToDo)));
+
+        CacheStats st = proxy.getCacheStats();
+        assertEquals(2, st.entries());
+        assertTrue(st.evictions() >= 1);
+
+        int reads = inner.reads;
+        assertEquals(3, proxy.getTasks().length); // cannot be served from a partial cache
+        assertEquals(reads + 1, inner.reads);
+        assertEquals("A", proxy.getTask(1).getTitle());
+        assertEquals(3, proxy.getTasksAfter(0, 10).length);
+    }
+
+    /**
+     * Verifies that a recently read task survives eviction and that hits and
+     * misses are counted.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void recentlyUsedEntrySurvivesEviction() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        TasksDAOProxy proxy = new TasksDAOProxy(inner, new EntryLimitPolicy(2));
+        Task a = new Task(0, "A", "a", TaskState.ToDo);
+        proxy.addTask(a);
+        proxy.addTask(new Task(0, "B", "b", TaskState.ToDo));
+        proxy.getTask(a.getId()); // A is now more recent than B
+        proxy.addTask(new Task(0, "C", "c", TaskState.ToDo));
+
+        int reads = inner.reads;
+        assertNotNull(proxy.getTask(a.getId()));
+        assertEquals(reads, inner.reads);
+        assertNotNull(proxy.getTask(2)); // B was evicted and is reloaded
+        assertEquals(reads + 1, inner.reads);
+
+        CacheStats st = proxy.getCacheStats();
+        assertEquals(2, st.hits());
+        assertEquals(1, st.misses());
+    }
+
+    /**
+     * Verifies that the weight limit keeps large descriptions out of a full load,
+     * so the cache never reports itself complete.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void weightLimitBoundsLargeDescriptions() throws TasksDAOException {
+        CountingDAO inner = new CountingDAO();
+        String big = "x".repeat(10_000);
+        for (int i = 0; i < 5; i++) inner.addTask(new Task(0, "T" + i, big, TaskState.ToDo));
+        TasksDAOProxy proxy = new TasksDAOProxy(inner, new WeightLimitPolicy(50_000));
+
+        assertEquals(5, proxy.getTasks().length);
+        assertTrue(proxy.getCacheStats().weight() <= 50_000);
+        int reads = inner.reads;
+        assertEquals(5, proxy.getTasks().length);
+        assertEquals(reads + 1, inner.reads);
+    }
+}
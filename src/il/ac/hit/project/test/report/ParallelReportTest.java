@@ -0,0 +1,95 @@
+package report;
+
+import il.ac.hit.project.main.model.report.ParallelReport;
+import il.ac.hit.project.main.model.report.ReportData;
+import il.ac.hit.project.main.model.report.ReportVisitor;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelReport} and the merging of {@link ReportVisitor}s.
+ */
+public class ParallelReportTest {
+
+    private static List<ITask> tasks(int n) {
+        List<ITask> out = new ArrayList<>(n);
+        TaskState[] states = TaskState.values();
+        for (int i = 0; i < n; i++) {
+            out.add(new Task(i + 1, "T" + i, "", states[(i * 7) % states.length]));
+        }
+        return out;
+    }
+
+    private static void assertSameReport(ReportData expected, ReportData actual) {
+        assertEquals(expected.total(), actual.total());
+        assertEquals(expected.todo(), actual.todo());
+        assertEquals(expected.inProgress(), actual.inProgress());
+        assertEquals(expected.completed(), actual.completed());
+        assertEquals(expected.all(), actual.all());
+    }
+
+    /**
+     * Verifies that fork/join reports equal the sequential one, whatever the number of threads.
+     */
+    @Test
+    void parallelReportMatchesSequential() {
+        List<ITask> tasks = tasks(100_000);
+        ReportVisitor seq = new ReportVisitor();
+        tasks.forEach(seq::visit);
+        ReportData expected = seq.build();
+
+        for (int threads : new int[]{1, 3, 8}) {
+            try (ParallelReport pr = new ParallelReport(threads)) {
+                assertEquals(threads, pr.getParallelism());
+                assertSameReport(expected, pr.report(tasks));
+                assertSameReport(expected, pr.reportAsync(tasks).join());
+                ReportData counts = pr.counts(tasks);
+                assertEquals(expected.total(), counts.total());
+                assertEquals(expected.completed(), counts.completed());
+                assertTrue(counts.all().isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Verifies that closing an aggregator shuts down only a pool it created itself.
+     */
+    @Test
+    void closeShutsDownOnlyOwnedPool() {
+        ForkJoinPool given = new ForkJoinPool(2);
+        try {
+            new ParallelReport(given).close();
+            assertFalse(given.isShutdown());
+            assertEquals(3, new ParallelReport(given).counts(tasks(3)).total());
+        } finally {
+            given.shutdown();
+        }
+        ParallelReport owning = new ParallelReport(2);
+        owning.close();
+        assertThrows(RejectedExecutionException.class, () -> owning.reportAsync(tasks(3)));
+    }
+
+    /**
+     * Verifies that the collector gives the same report on sequential and parallel streams.
+     */
+    @Test
+    void collectorIsDeterministicOnParallelStreams() {
+        List<ITask> tasks = tasks(50_000);
+        ReportData seq = tasks.stream().collect(ReportVisitor.collector());
+        assertSameReport(seq, tasks.parallelStream().collect(ReportVisitor.collector()));
+
+        ReportData counts = tasks.parallelStream().collect(ReportVisitor.countingCollector());
+        assertEquals(seq.todo(), counts.todo());
+        assertEquals(seq.inProgress(), counts.inProgress());
+        assertEquals(50_000, counts.total());
+    }
+}
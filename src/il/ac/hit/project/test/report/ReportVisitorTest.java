@@ -69,4 +69,23 @@ public class ReportVisitorTest {
         assertEquals(0, rd.completed());
         assertTrue(rd.all().isEmpty());
     }
+
+    /**
+     * Ensures that a counts-only visitor reports the same counts and total
+     * without keeping any task in its list.
+     */
+    @Test
+    void countsOnly_keepsNoTasks() {
+        ReportVisitor rv = ReportVisitor.countsOnly();
+        for (int i = 1; i <= 5; i++) {
+            rv.visit(new Task(i, "T" + i, "", i % 2 == 0 ? TaskState.Completed : TaskState.ToDo));
+        }
+        ReportData rd = rv.build();
+
+        assertEquals(5, rd.total());
+        assertEquals(3, rd.todo());
+        assertEquals(0, rd.inProgress());
+        assertEquals(2, rd.completed());
+        assertTrue(rd.all().isEmpty());
+    }
 }
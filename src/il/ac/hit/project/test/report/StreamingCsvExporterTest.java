@@ -0,0 +1,78 @@
+package report;
+
+import il.ac.hit.project.main.model.report.ITaskSource;
+import il.ac.hit.project.main.model.report.StreamingCsvExporter;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StreamingCsvExporter}.
+ * <p>
+ * Each test writes into its own temporary directory.
+ */
+public class StreamingCsvExporterTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies RFC 4180 quoting, UTF-8 output and the reported row counts.
+     *
+     * @throws Exception if the export fails
+     */
+    @Test
+    void quotesFieldsAndWritesUtf8() throws Exception {
+        Path out = new File(dir, "out.csv").toPath();
+        List<ITask> tasks = List.of(
+                new Task(1, "Plain", "simple", TaskState.ToDo),
+                new Task(2, "Comma, quote \"x\"", "two\nlines", TaskState.Completed),
+                new Task(3, "שלום", null, TaskState.InProgress));
+        List<Long> progress = new ArrayList<>();
+
+        long rows = new StreamingCsvExporter().export(ITaskSource.of(tasks.iterator()), out, progress::add, () -> false);
+
+        assertEquals(3, rows);
+        assertEquals(List.of(3L), progress);
+        String csv = Files.readString(out, StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertEquals("Title,Description,State", lines[0]);
+        assertEquals("Plain,simple," + TaskState.ToDo.display(), lines[1]);
+        assertEquals("\"Comma, quote \"\"x\"\"\",\"two\nlines\"," + TaskState.Completed.display(), lines[2]);
+        assertEquals("שלום,," + TaskState.InProgress.display(), lines[3]);
+    }
+
+    /**
+     * Verifies that a cancelled export stops and leaves an existing target file untouched.
+     *
+     * @throws IOException if the test file cannot be written
+     */
+    @Test
+    void cancelKeepsPreviousFile() throws IOException {
+        Path out = new File(dir, "out.csv").toPath();
+        Files.writeString(out, "previous");
+        long[] pulled = new long[1];
+        ITaskSource endless = () -> new Task((int) ++pulled[0], "T", "d", TaskState.ToDo);
+
+        assertThrows(CancellationException.class, () -> new StreamingCsvExporter()
+                .export(endless, out, n -> {
+                }, () -> pulled[0] >= 5_000));
+
+        assertTrue(pulled[0] < 10_000);
+        assertEquals("previous", Files.readString(out));
+        assertEquals(1, dir.list().length); // no temporary file left behind
+    }
+}
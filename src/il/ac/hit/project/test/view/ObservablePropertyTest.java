@@ -0,0 +1,68 @@
+package view;
+
+import il.ac.hit.project.main.view.observable.ObservableProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ObservableProperty}.
+ */
+public class ObservablePropertyTest {
+
+    /**
+     * Verifies that without a dispatcher every change is delivered at once.
+     */
+    @Test
+    void notifiesSynchronouslyByDefault() {
+        ObservableProperty<Integer> p = new ObservableProperty<>(0);
+        List<String> seen = new ArrayList<>();
+        p.addObserver((o, n) -> seen.add(o + "->" + n));
+        p.setValue(1);
+        p.setValue(2);
+        assertEquals(List.of("0->1", "1->2"), seen);
+    }
+
+    /**
+     * Verifies that with a dispatcher a burst of changes is delivered once, on the dispatcher,
+     * as a change from the last delivered value to the latest one.
+     */
+    @Test
+    void dispatcherCoalescesBursts() {
+        Queue<Runnable> frame = new ArrayDeque<>();
+        ObservableProperty<Integer> p = new ObservableProperty<>(0, frame::add);
+        List<String> seen = new ArrayList<>();
+        p.addObserver((o, n) -> seen.add(o + "->" + n));
+
+        for (int i = 1; i <= 5; i++) p.setValue(i);
+        assertEquals(5, p.getValue());
+        assertTrue(seen.isEmpty());
+        assertEquals(1, frame.size()); // one pending delivery for the whole burst
+
+        frame.poll().run();
+        assertEquals(List.of("0->5"), seen);
+
+        p.setValue(6);
+        p.setValue(5); // back to the delivered value: nothing to report
+        frame.poll().run();
+        assertEquals(List.of("0->5"), seen);
+    }
+
+    /**
+     * Verifies that an observer can register another observer while being notified.
+     */
+    @Test
+    void observersCanRegisterDuringNotification() {
+        ObservableProperty<Integer> p = new ObservableProperty<>(0);
+        List<Integer> late = new ArrayList<>();
+        p.addObserver((o, n) -> p.addObserver((o2, n2) -> late.add(n2)));
+        p.setValue(1);
+        p.setValue(2);
+        assertEquals(List.of(2), late);
+    }
+}
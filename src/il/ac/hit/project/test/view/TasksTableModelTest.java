@@ -0,0 +1,100 @@
+package view;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.view.TasksTableModel;
+import il.ac.hit.project.main.viewmodel.TaskListChange;
+import il.ac.hit.project.main.viewmodel.TasksViewModel;
+import il.ac.hit.project.main.viewmodel.strategy.SortByTitle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.event.TableModelEvent;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TasksTableModel} driven by {@link TasksViewModel} changes.
+ * <p>
+ * The view model publishes directly on the test thread instead of the Swing EDT.
+ */
+public class TasksTableModelTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that single-task changes fire row-level events for the affected rows only,
+     * and that the model always shows the same rows as the view model.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void fineGrainedEventsForSingleChanges() throws TasksDAOException {
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv"));
+        dao.addTasks(List.of(new Task(0, "b", "d", TaskState.ToDo), new Task(0, "d", "d", TaskState.ToDo)));
+        TasksViewModel vm = new TasksViewModel(dao, Runnable::run);
+        TasksTableModel model = new TasksTableModel(List.of());
+        vm.getChanges().addObserver((o, n) -> model.apply(n));
+        vm.setSort(new SortByTitle());
+        vm.load();
+
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> events.add(describe(e)));
+
+        vm.add("c", "d", TaskState.ToDo);
+        assertEquals(List.of("insert 1-1"), events);
+
+        events.clear();
+        vm.update(new Task(2, "d", "changed", TaskState.Completed)); // same title: stays in place
+        assertEquals(List.of("update 2-2"), events);
+
+        events.clear();
+        vm.update(new Task(1, "z", "d", TaskState.ToDo)); // moves from first to last row
+        assertEquals(List.of("delete 0-0", "insert 2-2"), events);
+
+        events.clear();
+        vm.delete(3);
+        assertEquals(List.of("delete 0-0"), events);
+        assertEquals(vm.getTasks().getValue(), rows(model));
+    }
+
+    /**
+     * Verifies that a change that does not follow the model's version (a coalesced gap)
+     * replaces all rows.
+     */
+    @Test
+    void versionGapFallsBackToFullRefresh() {
+        TasksTableModel model = new TasksTableModel(List.of());
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> events.add(describe(e)));
+        Task a = new Task(1, "a", "d", TaskState.ToDo);
+        TaskListChange gap = new TaskListChange(5, 6, List.of(a),
+                List.of(new TaskListChange.RowEdit(TaskListChange.Kind.INSERTED, 0, 0, List.of(a))));
+
+        model.apply(gap);
+        assertEquals(List.of("all"), events);
+        assertEquals(1, model.getRowCount());
+    }
+
+    private static String describe(TableModelEvent e) {
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) return "all";
+        String kind = switch (e.getType()) {
+            case TableModelEvent.INSERT -> "insert";
+            case TableModelEvent.DELETE -> "delete";
+            default -> "update";
+        };
+        return kind + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+
+    private static List<Object> rows(TasksTableModel model) {
+        List<Object> out = new ArrayList<>();
+        for (int i = 0; i < model.getRowCount(); i++) out.add(model.getAt(i));
+        return out;
+    }
+}
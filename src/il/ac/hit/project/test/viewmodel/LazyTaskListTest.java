@@ -0,0 +1,106 @@
+package viewmodel;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.TaskQuery;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.viewmodel.LazyTaskList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LazyTaskList}.
+ * <p>
+ * Fetching and publishing run directly on the test thread, so a block requested by
+ * {@link LazyTaskList#get(int)} is loaded by the time the call returns.
+ */
+public class LazyTaskListTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that rows are fetched in blocks on demand, in query order, with the
+     * neighbouring blocks prefetched and at most {@code maxBlocks} blocks kept.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void fetchesBlocksOnDemandWithBoundedMemory() throws TasksDAOException {
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv"));
+        List<ITask> batch = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            batch.add(new Task(0, String.format("T%05d", 2_000 - i), "d", i % 2 == 0 ? TaskState.ToDo : TaskState.Completed));
+        }
+        dao.addTasks(batch);
+
+        TaskQuery q = TaskQuery.all().withState(TaskState.ToDo).withSort(TaskQuery.SortKey.TITLE);
+        LazyTaskList rows = new LazyTaskList(dao, q, 100, 4, Runnable::run, Runnable::run);
+        List<int[]> loaded = new ArrayList<>();
+        rows.setListener((first, last) -> loaded.add(new int[]{first, last}));
+        rows.refresh().join();
+        assertEquals(1_000, rows.size());
+
+        assertNull(rows.get(150)); // not loaded yet: starts fetching block 1 and its neighbours
+        assertEquals(3, rows.loadedBlocks());
+        assertEquals(100, loaded.get(1)[0]);
+        assertEquals("T00302", rows.get(150).getTitle());
+
+        String prev = "";
+        for (int r = 0; r < rows.size(); r++) {
+            ITask t = rows.get(r);
+            if (t == null) t = rows.get(r);
+            assertTrue(t.getTitle().compareTo(prev) > 0);
+            assertEquals(TaskState.ToDo, t.getState());
+            prev = t.getTitle();
+            assertTrue(rows.loadedBlocks() <= 4);
+        }
+    }
+
+    /**
+     * Verifies that a failed block fetch is reported once and the block is fetched again
+     * after the retry delay instead of staying pending until the next refresh.
+     *
+     * @throws Exception if the DAO operation fails or the test is interrupted
+     */
+    @Test
+    void failedFetchIsReportedAndRetried() throws Exception {
+        AtomicBoolean broken = new AtomicBoolean();
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv")) {
+            @Override
+            public ITask[] query(TaskQuery q) throws TasksDAOException {
+                if (broken.get()) throw new TasksDAOException("disk gone");
+                return super.query(q);
+            }
+        };
+        List<ITask> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) batch.add(new Task(0, "T" + i, "d", TaskState.ToDo));
+        dao.addTasks(batch);
+
+        LazyTaskList rows = new LazyTaskList(dao, TaskQuery.all(), 100, 4, Runnable::run, Runnable::run);
+        List<Throwable> failures = new ArrayList<>();
+        rows.setFailureHandler(failures::add);
+        rows.refresh().join();
+
+        broken.set(true);
+        assertNull(rows.get(0));
+        assertNull(rows.get(0)); // within the retry delay: not fetched again
+        assertEquals(1, failures.size());
+        assertInstanceOf(TasksDAOException.class, failures.get(0));
+
+        broken.set(false);
+        Thread.sleep(300);
+        assertNull(rows.get(0)); // retried now
+        assertEquals("T0", rows.get(0).getTitle());
+        assertEquals(1, failures.size());
+    }
+}
@@ -0,0 +1,87 @@
+package viewmodel;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.report.ReportData;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.viewmodel.LiveReportStats;
+import il.ac.hit.project.main.viewmodel.TaskListChange;
+import il.ac.hit.project.main.viewmodel.TaskListChange.Kind;
+import il.ac.hit.project.main.viewmodel.TaskListChange.RowEdit;
+import il.ac.hit.project.main.viewmodel.TasksViewModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LiveReportStats}.
+ */
+public class LiveReportStatsTest {
+
+    @TempDir
+    File dir;
+
+    /**
+     * Verifies that row edits adjust the counts without recounting the rows,
+     * and that a missed version falls back to a recount.
+     */
+    @Test
+    void editsAdjustCountsIncrementally() {
+        ITask a = new Task(1, "A", "", TaskState.ToDo);
+        ITask b = new Task(2, "B", "", TaskState.InProgress);
+        LiveReportStats stats = new LiveReportStats();
+        stats.apply(new TaskListChange(0, 1, List.of(a, b), null));
+        assertEquals(2, stats.total());
+
+        // the rows are left empty on purpose: only the edits may be used
+        ITask a2 = new Task(1, "A", "", TaskState.Completed);
+        ITask c = new Task(3, "C", "", TaskState.ToDo);
+        stats.apply(new TaskListChange(1, 2, List.of(), List.of(
+                new RowEdit(Kind.UPDATED, 0, 0, List.of(a2)),
+                new RowEdit(Kind.DELETED, 1, 1, List.of(b)),
+                new RowEdit(Kind.INSERTED, 1, 1, List.of(c)))));
+        ReportData r = stats.counts();
+        assertEquals(2, r.total());
+        assertEquals(1, r.todo());
+        assertEquals(0, r.inProgress());
+        assertEquals(1, r.completed());
+        assertEquals(r.total(), stats.getCounts().getValue().total());
+
+        stats.apply(new TaskListChange(5, 6, List.of(b), List.of())); // gap: recount from the rows
+        assertEquals(1, stats.total());
+        assertEquals(1, stats.count(TaskState.InProgress));
+        assertEquals(List.of(b), stats.report().all());
+    }
+
+    /**
+     * Verifies that the view model keeps its live statistics in step with its mutations.
+     *
+     * @throws Exception if the DAO fails
+     */
+    @Test
+    void followsViewModelChanges() throws Exception {
+        TasksViewModel vm = new TasksViewModel(new FileTasksDAO(new File(dir, "tasks.csv")), Runnable::run);
+        vm.load();
+        vm.add("One", "", TaskState.ToDo);
+        vm.add("Two", "", TaskState.InProgress);
+        vm.add("Three", "", TaskState.ToDo);
+        LiveReportStats stats = vm.getLiveStats();
+        assertEquals(3, stats.total());
+        assertEquals(2, stats.count(TaskState.ToDo));
+
+        ITask two = vm.getTasks().getValue().get(1);
+        vm.update(new Task(two.getId(), "Two", "", TaskState.Completed));
+        assertEquals(0, stats.count(TaskState.InProgress));
+        assertEquals(1, stats.count(TaskState.Completed));
+
+        vm.deleteVisible();
+        assertEquals(0, stats.total());
+        assertEquals(0, stats.count(TaskState.ToDo));
+        assertTrue(stats.report().all().isEmpty());
+    }
+}
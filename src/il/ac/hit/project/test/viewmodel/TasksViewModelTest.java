@@ -0,0 +1,262 @@
+package viewmodel;
+
+import il.ac.hit.project.main.model.dao.FileTasksDAO;
+import il.ac.hit.project.main.model.dao.TaskQuery;
+import il.ac.hit.project.main.model.dao.TasksDAOException;
+import il.ac.hit.project.main.model.report.ReportData;
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.viewmodel.TasksViewModel;
+import il.ac.hit.project.main.viewmodel.combinator.TaskFilters;
+import il.ac.hit.project.main.viewmodel.strategy.SortByTitle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TasksViewModel}.
+ * <p>
+ * The view model runs over a {@link FileTasksDAO} in a temporary directory and
+ * publishes directly on its background thread instead of the Swing EDT.
+ */
+public class TasksViewModelTest {
+
+    @TempDir
+    File dir;
+
+    private FileTasksDAO newDao(int tasks) throws TasksDAOException {
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv"));
+        List<ITask> batch = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) batch.add(new Task(0, "T" + i, "d", TaskState.ToDo));
+        dao.addTasks(batch);
+        return dao;
+    }
+
+    /**
+     * Verifies that an asynchronous load publishes every page and clears the loading flag.
+     *
+     * @throws Exception if the load fails
+     */
+    @Test
+    void loadAsyncPublishesAllPages() throws Exception {
+        TasksViewModel vm = new TasksViewModel(newDao(600), Runnable::run);
+        vm.loadAsync().get(10, TimeUnit.SECONDS);
+        assertEquals(600, vm.getTasks().getValue().size());
+        assertFalse(vm.getLoading().getValue());
+    }
+
+    /**
+     * Verifies that the synchronous load publishes the whole table once, not once per page.
+     *
+     * @throws Exception if the load fails
+     */
+    @Test
+    void loadPublishesOnce() throws Exception {
+        TasksViewModel vm = new TasksViewModel(newDao(600), Runnable::run);
+        List<Integer> sizes = new ArrayList<>();
+        vm.getTasks().addObserver((o, n) -> sizes.add(n.size()));
+        vm.load();
+        assertEquals(List.of(600), sizes);
+    }
+
+    /**
+     * Verifies that a newer load cancels an older one that is still running.
+     *
+     * @throws Exception if the load fails
+     */
+    @Test
+    void newerLoadSupersedesOlder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FileTasksDAO slow = new FileTasksDAO(new File(dir, "tasks.csv")) {
+            @Override
+            public ITask[] getTasksAfter(int lastId, int limit) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getTasksAfter(lastId, limit);
+            }
+        };
+        slow.addTask(new Task(0, "A", "a", TaskState.ToDo));
+        TasksViewModel vm = new TasksViewModel(slow, Runnable::run);
+
+        CompletableFuture<Void> first = vm.loadAsync();
+        CompletableFuture<Void> second = vm.loadAsync();
+        release.countDown();
+
+        second.get(10, TimeUnit.SECONDS);
+        assertTrue(first.isCancelled());
+        assertEquals(1, vm.getTasks().getValue().size());
+    }
+
+    /**
+     * Verifies that an asynchronous add stores the task and publishes it.
+     *
+     * @throws Exception if the DAO operation fails
+     */
+    @Test
+    void addAsyncPublishesNewTask() throws Exception {
+        TasksViewModel vm = new TasksViewModel(newDao(2), Runnable::run);
+        vm.loadAsync().get(10, TimeUnit.SECONDS);
+        vm.addAsync("New", "n", TaskState.InProgress).get(10, TimeUnit.SECONDS);
+        List<ITask> visible = vm.getTasks().getValue();
+        assertEquals(3, visible.size());
+        assertEquals("New", visible.get(2).getTitle());
+    }
+
+    /**
+     * Verifies that adds, updates and deletes keep the visible list filtered and sorted
+     * exactly as a full re-filter and re-sort would.
+     *
+     * @throws TasksDAOException if the DAO operation fails
+     */
+    @Test
+    void incrementalChangesKeepViewSorted() throws TasksDAOException {
+        FileTasksDAO dao = newDao(0);
+        dao.addTasks(List.of(
+                new Task(0, "delta", "d", TaskState.ToDo),
+                new Task(0, "alpha", "d", TaskState.ToDo),
+                new Task(0, "charlie", "d", TaskState.Completed)));
+        TasksViewModel vm = new TasksViewModel(dao, Runnable::run);
+        vm.load();
+        vm.setSort(new SortByTitle());
+        vm.setFilter(TaskFilters.byState(TaskState.ToDo));
+        assertEquals(List.of("alpha", "delta"), titles(vm));
+
+        vm.add("bravo", "d", TaskState.ToDo);
+        vm.add("echo", "d", TaskState.Completed); // filtered out
+        assertEquals(List.of("alpha", "bravo", "delta"), titles(vm));
+
+        vm.update(new Task(2, "zulu", "d", TaskState.ToDo)); // alpha moves to the end
+        vm.update(new Task(3, "charlie", "d", TaskState.ToDo)); // now passes the filter
+        assertEquals(List.of("bravo", "charlie", "delta", "zulu"), titles(vm));
+
+        vm.delete(1);
+        assertEquals(List.of("bravo", "charlie", "zulu"), titles(vm));
+
+        vm.setFilter(null);
+        assertEquals(List.of("bravo", "charlie", "echo", "zulu"), titles(vm));
+    }
+
+    private static List<String> titles(TasksViewModel vm) {
+        return vm.getTasks().getValue().stream().map(ITask::getTitle).toList();
+    }
+
+    /**
+     * Verifies that rapid searches are debounced (only the last one is applied),
+     * that a narrowing search keeps the sort order, and that widening again
+     * brings back the other matches.
+     *
+     * @throws Exception if the DAO or a search fails
+     */
+    @Test
+    void debouncedSearchAppliesLatestQuery() throws Exception {
+        FileTasksDAO dao = newDao(0);
+        dao.addTasks(List.of(
+                new Task(0, "report b", "d", TaskState.ToDo),
+                new Task(0, "repair", "d", TaskState.ToDo),
+                new Task(0, "report a", "d", TaskState.Completed),
+                new Task(0, "other", "d", TaskState.ToDo)));
+        TasksViewModel vm = new TasksViewModel(dao, Runnable::run);
+        vm.load();
+        vm.setSort(new SortByTitle());
+        vm.setSearchDelay(50);
+
+        CompletableFuture<Void> r = vm.setSearch(null, "r");
+        CompletableFuture<Void> rep = vm.setSearch(null, "rep");
+        rep.get(10, TimeUnit.SECONDS);
+        assertThrows(CancellationException.class, r::join);
+        assertEquals(List.of("repair", "report a", "report b"), titles(vm));
+
+        vm.setSearch(null, "REPO").get(10, TimeUnit.SECONDS); // narrows the previous matches
+        assertEquals(List.of("report a", "report b"), titles(vm));
+
+        vm.setSearch(TaskState.ToDo, "repo").get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("report b"), titles(vm));
+
+        vm.setSearch(null, "").get(10, TimeUnit.SECONDS);
+        assertEquals(4, vm.getTasks().getValue().size());
+    }
+
+    /**
+     * Verifies that per-state counts follow adds, state changes and deletes,
+     * and that a state-only search shows exactly that state's tasks.
+     *
+     * @throws Exception if the DAO or a search fails
+     */
+    @Test
+    void statePartitionTracksCounts() throws Exception {
+        TasksViewModel vm = new TasksViewModel(newDao(3), Runnable::run);
+        vm.load();
+        vm.add("Busy", "b", TaskState.InProgress);
+        vm.update(new Task(1, "T0", "d", TaskState.Completed));
+        vm.delete(2);
+        assertEquals(1, vm.count(TaskState.ToDo));
+        assertEquals(1, vm.count(TaskState.InProgress));
+        assertEquals(1, vm.getStateCounts().getValue().get(TaskState.Completed));
+
+        vm.setSearchDelay(0);
+        vm.setSearch(TaskState.InProgress, "").get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("Busy"), titles(vm));
+        assertEquals(0, vm.visibleCounts().get(TaskState.ToDo));
+        assertEquals(1, vm.report().inProgress());
+        assertEquals(1, vm.report().total());
+    }
+
+    /**
+     * Verifies that reloading a large table while a title search is active filters each
+     * loaded task in constant time, instead of re-resolving the search for every indexed task.
+     *
+     * @throws Exception if the DAO or the search fails
+     */
+    @Test
+    void reloadWithActiveTitleSearchIsLinear() throws Exception {
+        FileTasksDAO dao = new FileTasksDAO(new File(dir, "tasks.csv"));
+        List<ITask> batch = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) batch.add(new Task(0, (i % 2 == 0 ? "Task " : "Chore ") + i, "d", TaskState.ToDo));
+        dao.addTasks(batch);
+        TasksViewModel vm = new TasksViewModel(dao, Runnable::run);
+        vm.load();
+        vm.setSearchDelay(0);
+        vm.setSearch(null, "task").get(10, TimeUnit.SECONDS); // trigrams shared by half of the titles
+        assertEquals(20_000, vm.getTasks().getValue().size());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), vm::load); // was quadratic: about a minute
+        assertEquals(20_000, vm.getTasks().getValue().size());
+    }
+
+    /**
+     * Verifies that a report straight from the DAO counts every matching task across
+     * several pages without keeping the tasks.
+     *
+     * @throws Exception if the DAO or the report fails
+     */
+    @Test
+    void reportFromDaoCountsAllPages() throws Exception {
+        FileTasksDAO dao = newDao(2_500);
+        dao.addTask(new Task(0, "Busy", "b", TaskState.InProgress));
+        TasksViewModel vm = new TasksViewModel(dao, Runnable::run);
+
+        ReportData all = vm.reportAsync(TaskQuery.all()).get(10, TimeUnit.SECONDS);
+        assertEquals(2_501, all.total());
+        assertEquals(2_500, all.todo());
+        assertEquals(1, all.inProgress());
+        assertTrue(all.all().isEmpty());
+
+        ReportData busy = vm.reportAsync(TaskQuery.all().withState(TaskState.InProgress)).get(10, TimeUnit.SECONDS);
+        assertEquals(1, busy.total());
+        assertEquals(0, busy.todo());
+    }
+}
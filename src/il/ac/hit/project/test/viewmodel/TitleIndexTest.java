@@ -0,0 +1,65 @@
+package viewmodel;
+
+import il.ac.hit.project.main.model.task.ITask;
+import il.ac.hit.project.main.model.task.Task;
+import il.ac.hit.project.main.model.task.TaskState;
+import il.ac.hit.project.main.viewmodel.combinator.TaskFilters;
+import il.ac.hit.project.main.viewmodel.index.TitleIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TitleIndex}.
+ */
+public class TitleIndexTest {
+
+    /**
+     * Verifies that candidates cover every match, follow incremental updates and removals,
+     * and that short queries are not pruned.
+     */
+    @Test
+    void candidatesFollowChanges() {
+        TitleIndex index = new TitleIndex();
+        index.put(new Task(1, "Buy Milk", "d", TaskState.ToDo));
+        index.put(new Task(2, "Milkshake", "d", TaskState.ToDo));
+        index.put(new Task(3, "Walk the dog", "d", TaskState.ToDo));
+
+        assertArrayEquals(new int[]{1, 2}, index.candidates("milk"));
+        assertArrayEquals(new int[0], index.candidates("cat"));
+        assertNull(index.candidates("mi"));
+
+        index.put(new Task(2, "Shake", "d", TaskState.ToDo));
+        index.remove(1);
+        index.put(new Task(4, "Oat milk", "d", TaskState.ToDo));
+        assertArrayEquals(new int[]{4}, index.candidates("milk"));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Verifies that the indexed filter gives the same answers as the plain one,
+     * including for tasks the index has not seen and for stale index entries.
+     */
+    @Test
+    void indexedFilterMatchesPlainFilter() {
+        TitleIndex index = new TitleIndex();
+        Task a = new Task(1, "Write REPORT", "d", TaskState.ToDo);
+        Task b = new Task(2, "Read report", "d", TaskState.ToDo);
+        Task c = new Task(3, "Deport", "d", TaskState.ToDo);
+        index.put(a);
+        index.put(b);
+        index.put(c);
+        c.setTitle("Report back"); // changed without re-indexing
+        Task unseen = new Task(4, "Reports", "d", TaskState.ToDo);
+
+        for (String q : new String[]{"report", "Rep", "po", "", "ort b", "xyz"}) {
+            Predicate<ITask> indexed = TaskFilters.byTitleContains(q, index);
+            Predicate<ITask> plain = TaskFilters.byTitleContains(q);
+            for (ITask t : new ITask[]{a, b, c, unseen}) {
+                assertEquals(plain.test(t), indexed.test(t), q + " / " + t.getTitle());
+            }
+        }
+    }
+}